@@ -0,0 +1,85 @@
+package com.sangwontest.studyolle.infra.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/*
+비동기 이벤트 처리 현황 (AsyncConfig 의 executor)
+카운터만 두고 처리한 작업이 있을 때 5분마다 로그로 남김
+ */
+@Slf4j
+@Component
+public class AsyncEventMetrics {
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private volatile IntSupplier queueSize = () -> 0;
+    private long lastLoggedSubmitted;
+
+    public void submitted() {
+        submitted.increment();
+    }
+
+    public void completed() {
+        completed.increment();
+    }
+
+    public void failed() {
+        failed.increment();
+    }
+
+    public void retried() {
+        retried.increment();
+    }
+
+    // 큐가 가득 차서 이벤트를 발행한 스레드가 직접 처리한 경우
+    public void callerRuns() {
+        callerRuns.increment();
+    }
+
+    void bindQueueSize(IntSupplier queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    public long getCallerRuns() {
+        return callerRuns.sum();
+    }
+
+    public int getQueueSize() {
+        return queueSize.getAsInt();
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000, initialDelay = 5 * 60 * 1000)
+    public void logSummary() {
+        long current = getSubmitted();
+        if (current == lastLoggedSubmitted) {
+            return;
+        }
+        lastLoggedSubmitted = current;
+        log.info("async events : submitted {}, completed {}, failed {}, retried {}, caller runs {}, queued {}",
+                current, getCompleted(), getFailed(), getRetried(), getCallerRuns(), getQueueSize());
+    }
+}
@@ -0,0 +1,103 @@
+package com.sangwontest.studyolle.infra.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+도메인 이벤트 리스너(@Async) 를 실행할 스레드 풀
+- 스레드 수와 큐 크기를 제한함. 기본 풀(applicationTaskExecutor) 은 큐가 무제한이라 알림이 몰리면 메모리가 계속 늘어남
+- 큐가 차면 발행한 스레드가 자리가 날 때까지 잠깐 기다림 (backpressure). 그래도 차 있으면 그 스레드가 직접 실행 (CallerRunsPolicy)
+  -> 이벤트를 버리지 않음. 이때 리스너는 커밋한 스레드의 afterCommit 안에서 돌기 때문에
+  리스너가 부르는 서비스는 REQUIRES_NEW 로 자기 트랜잭션을 열어야 함 (NotificationService 참고)
+- 종료할 때 큐에 남은 작업은 마저 처리함
+Java 11 이라 가상 스레드를 쓸 수 없어서 I/O (DB, 메일) 대기가 대부분인 작업에 맞게 코어 수보다 넉넉하게 잡음
+ */
+@Slf4j
+public final class AsyncExecutorFactory {
+
+    // 큐가 찼을 때 자리가 나기를 기다리는 시간
+    private static final long OFFER_TIMEOUT_MILLIS = 500;
+
+    private AsyncExecutorFactory() {
+    }
+
+    public static ThreadPoolTaskExecutor eventExecutor(AsyncEventMetrics metrics, int queueCapacity) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors * 2);
+        executor.setMaxPoolSize(processors * 4); // 큐가 가득 찬 뒤에만 늘어남
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("async-event-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.setTaskDecorator(task -> {
+            metrics.submitted();
+            return () -> {
+                try {
+                    task.run();
+                } finally {
+                    metrics.completed();
+                }
+            };
+        });
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            if (offer(task, pool)) {
+                return;
+            }
+            metrics.callerRuns();
+            log.warn("async event queue is full ({}), running on caller thread", pool.getQueue().size());
+            new ThreadPoolExecutor.CallerRunsPolicy().rejectedExecution(task, pool);
+        });
+        executor.initialize();
+        metrics.bindQueueSize(() -> executor.getThreadPoolExecutor().getQueue().size());
+        return executor;
+    }
+
+    /*
+    MVC 비동기 요청 (Callable, DeferredResult 등) 을 처리할 스레드 풀
+    taskExecutor 빈을 직접 정의하면 boot 의 applicationTaskExecutor 가 만들어지지 않아서 MVC 가 요청마다 스레드를 새로 만드는
+    SimpleAsyncTaskExecutor 로 바뀌므로 따로 지정함 (WebConfig). 이벤트 리스너와 스레드를 나눠 써서 서로 막지 않음
+     */
+    public static ThreadPoolTaskExecutor mvcExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1_000);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    /*
+    SSE 쓰기 (PushService) 전용 스레드 풀
+    느린 클라이언트에 쓰는 동안 막히는 스레드가 이벤트 리스너 풀을 차지하지 않도록 나눔
+    큐가 차면 호출한 스레드에서 쓰지 않고 TaskRejectedException 으로 돌려줌 -> PushService 가 그 연결을 끊음
+     */
+    public static ThreadPoolTaskExecutor pushExecutor(int queueCapacity) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors * 2);
+        executor.setMaxPoolSize(processors * 2);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sse-push-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static boolean offer(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            return false;
+        }
+        try {
+            return pool.getQueue().offer(task, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
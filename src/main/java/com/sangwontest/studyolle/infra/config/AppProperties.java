@@ -4,10 +4,17 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @Component
 @ConfigurationProperties("app")
 public class AppProperties {
 
     private String host;
+
+    private String imageDirectory = System.getProperty("user.home") + "/studyolle/images"; // 업로드한 이미지를 저장할 경로
+
+    private List<String> adminEmails = new ArrayList<>(); // ROLE_ADMIN 을 받는 계정 (스터디 내보내기, 가져오기)
 }
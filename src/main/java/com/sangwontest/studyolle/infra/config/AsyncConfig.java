@@ -0,0 +1,55 @@
+package com.sangwontest.studyolle.infra.config;
+
+import com.sangwontest.studyolle.infra.async.AsyncEventMetrics;
+import com.sangwontest.studyolle.infra.async.AsyncExecutorFactory;
+import com.sangwontest.studyolle.modules.notification.PushService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+// @Async 이벤트 리스너와 @Scheduled 배치 (StudyStateScheduler)
+// 스터디 이벤트는 커밋된 뒤 (@TransactionalEventListener) 이 executor 에서 처리됨 -> 알림 같은 후처리가 요청 트랜잭션을 늘리지 않음
+@Slf4j
+@Configuration
+@EnableAsync
+@EnableScheduling
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final int EVENT_QUEUE_CAPACITY = 1_000;
+
+    private final AsyncEventMetrics asyncEventMetrics;
+
+    @Bean
+    public ThreadPoolTaskExecutor taskExecutor() {
+        return AsyncExecutorFactory.eventExecutor(asyncEventMetrics, EVENT_QUEUE_CAPACITY);
+    }
+
+    // SSE 쓰기 전용. 연결마다 한번에 하나의 쓰기만 큐에 있으므로 최대 연결 수만큼 잡음
+    @Bean
+    public ThreadPoolTaskExecutor pushExecutor() {
+        return AsyncExecutorFactory.pushExecutor(PushService.MAX_CONNECTIONS);
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+
+    // 재시도(RetryOnFailure) 까지 실패한 이벤트
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, method, params) -> {
+            asyncEventMetrics.failed();
+            log.error("async event failed : {}", method.toGenericString(), e);
+        };
+    }
+}
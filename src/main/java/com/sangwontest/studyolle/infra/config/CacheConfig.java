@@ -0,0 +1,70 @@
+package com.sangwontest.studyolle.infra.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String STUDY_CACHE = "study"; // path -> StudyView
+    public static final String HOME_FEED_CACHE = "homeFeed"; // account id -> 추천 스터디 목록
+    public static final String STUDY_MANAGER_CACHE = "studyManager"; // path:account id -> 관리자 여부
+    public static final String STUDY_PATH_ALIAS_CACHE = "studyPathAlias"; // 예전 path -> 지금 path
+    public static final String STUDY_DESCRIPTION_CACHE = "studyDescription"; // study id:version -> sanitize 한 상세 소개 html
+
+    @Bean
+    public CacheManager cacheManager(MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(STUDY_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()); // hit, miss 통계 -> bindMetrics 에서 cache.gets 등의 메트릭으로 등록
+        //추천 목록은 새로 공개된 스터디도 반영해야 하므로 짧게 유지. 계정의 주제, 지역이 바뀌면 바로 evict
+        cacheManager.registerCustomCache(HOME_FEED_CACHE, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .recordStats()
+                .build());
+        //관리자 권한 확인은 설정 화면의 모든 요청마다 일어나므로 짧게 캐시. 경로 변경, 삭제 때는 전부 비움
+        cacheManager.registerCustomCache(STUDY_MANAGER_CACHE, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .recordStats()
+                .build());
+        //상세 소개는 스터디 버전이 키에 들어가서 evict 하지 않음. 예전 버전은 쓰이지 않다가 크기, 시간 제한으로 빠짐
+        cacheManager.registerCustomCache(STUDY_DESCRIPTION_CACHE, Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build());
+        //예전 경로는 StudyPathAliases 가 경로를 바꿀 때 직접 갱신하므로 시간 제한 없이 크기만 제한
+        cacheManager.registerCustomCache(STUDY_PATH_ALIAS_CACHE, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .recordStats()
+                .build());
+        bindMetrics(cacheManager, meterRegistry);
+        //트랜잭션 안에서 evict 하면 커밋 이후에 지워지도록 -> 커밋 전에 다른 요청이 예전 값으로 다시 캐시하는 것을 막음
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // 캐시마다 cache.gets(hit, miss), cache.puts, cache.evictions, cache.size 메트릭을 cache 태그로 등록
+    // TransactionAwareCacheManagerProxy 로 감싼 뒤에는 Caffeine 캐시인지 알 수 없으므로 감싸기 전에 직접 등록함
+    // actuator 가 캐시를 찾아서 등록하는 경우와 같은 태그(cacheManager)를 붙여서 메트릭이 두벌 생기지 않게 함
+    private void bindMetrics(CaffeineCacheManager cacheManager, MeterRegistry meterRegistry) {
+        for (String name : cacheManager.getCacheNames()) {
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(name);
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), name, "cacheManager", "cacheManager");
+        }
+    }
+}
@@ -31,6 +31,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .mvcMatchers("/", "/login", "/sign-up", "/check-email-token",
                         "/email-login", "/check-email-login", "/login-link", "/login-by-email").permitAll() // 이러한 것들은 로그인 없이도 사용가능하고
                 .mvcMatchers(HttpMethod.GET, "/profile/*").permitAll() // get으로 들어올때
+                .mvcMatchers(HttpMethod.GET, "/image/*").permitAll() // 프로필, 배너 이미지
+                .mvcMatchers(HttpMethod.GET, "/search/study").permitAll() // 스터디 검색
+                .mvcMatchers("/admin/**").hasRole("ADMIN") // 스터디 내보내기, 가져오기
 
                 .anyRequest().authenticated(); // 이외는 로그인을 해야만 쓸 수 있다.
 
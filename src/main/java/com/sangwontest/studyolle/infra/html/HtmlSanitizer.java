@@ -0,0 +1,196 @@
+package com.sangwontest.studyolle.infra.html;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+에디터(summernote)로 작성한 html 에서 허용한 태그, 속성만 남기고 나머지는 지움 (XSS 방지)
+- 허용하지 않은 태그는 태그만 지우고 안의 글자는 남김. script, style 처럼 내용 자체가 위험한 태그는 내용까지 지움
+- 속성 값은 한번 unescape 해서 검사한 뒤 다시 escape 해서 씀 -> &#x6a;avascript: 같은 우회를 막음
+- 짝이 맞지 않는 닫는 태그는 버리고, 닫히지 않은 태그는 끝에서 닫아줌 -> 화면의 레이아웃 태그를 닫아버리지 못함
+ */
+public final class HtmlSanitizer {
+
+    private static final Set<String> ALLOWED_TAGS = Set.of(
+            "p", "div", "span", "br", "hr", "b", "strong", "i", "em", "u", "s", "strike", "sub", "sup", "font",
+            "h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "pre", "code", "ul", "ol", "li",
+            "a", "img", "table", "thead", "tbody", "tr", "th", "td");
+
+    private static final Set<String> VOID_TAGS = Set.of("br", "hr", "img");
+
+    private static final Set<String> DROP_CONTENT_TAGS = Set.of(
+            "script", "style", "iframe", "object", "embed", "textarea", "title", "noscript", "template", "svg", "math");
+
+    private static final Set<String> COMMON_ATTRIBUTES = Set.of("style");
+
+    private static final Map<String, Set<String>> TAG_ATTRIBUTES = Map.of(
+            "a", Set.of("href", "title"),
+            "img", Set.of("src", "alt", "width", "height"),
+            "font", Set.of("color", "face", "size"),
+            "td", Set.of("colspan", "rowspan"),
+            "th", Set.of("colspan", "rowspan"));
+
+    private static final Set<String> STYLE_PROPERTIES = Set.of(
+            "color", "background-color", "text-align", "font-weight", "font-style", "font-size", "font-family",
+            "text-decoration", "line-height", "width", "height", "float", "margin-left", "padding-left");
+
+    private static final Pattern TAG = Pattern.compile("<!--.*?-->|<(/?)([a-zA-Z][a-zA-Z0-9]*)((?:[^>\"']|\"[^\"]*\"|'[^']*')*)>", Pattern.DOTALL);
+    private static final Pattern ATTRIBUTE = Pattern.compile("([a-zA-Z_:][-a-zA-Z0-9_:.]*)(?:\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s\"'=<>`]+)))?");
+    private static final Pattern ENTITY = Pattern.compile("&(?:[a-zA-Z][a-zA-Z0-9]{1,31}|#[0-9]{1,7}|#[xX][0-9a-fA-F]{1,6});");
+    private static final Pattern SAFE_URL = Pattern.compile("(?i)(?:https?://|mailto:|/(?![/\\\\])|#)[^\\s]*");
+    private static final Pattern SAFE_IMAGE_URL = Pattern.compile("(?i)(?:https?://|/(?![/\\\\])|data:image/(?:png|jpe?g|gif|webp);base64,)[^\\s]*");
+    private static final Pattern SAFE_STYLE_VALUE = Pattern.compile("[#a-zA-Z0-9 .,%()'\"-]*");
+    private static final Pattern SAFE_VALUE = Pattern.compile("[#a-zA-Z0-9 .,%-]*");
+
+    private HtmlSanitizer() {
+    }
+
+    public static String sanitize(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder(html.length());
+        Deque<String> openTags = new ArrayDeque<>();
+        Matcher matcher = TAG.matcher(html);
+        int position = 0;
+        while (matcher.find(position)) {
+            appendText(out, html, position, matcher.start());
+            position = matcher.end();
+
+            String name = matcher.group(2);
+            if (name == null) { // 주석
+                continue;
+            }
+            name = name.toLowerCase(Locale.ROOT);
+            boolean closing = !matcher.group(1).isEmpty();
+
+            if (!closing && DROP_CONTENT_TAGS.contains(name)) {
+                position = skipElement(html, name, position);
+            } else if (!ALLOWED_TAGS.contains(name)) {
+                continue;
+            } else if (closing) {
+                closeTag(out, openTags, name);
+            } else {
+                out.append('<').append(name);
+                appendAttributes(out, name, matcher.group(3));
+                out.append('>');
+                if (!VOID_TAGS.contains(name)) {
+                    openTags.push(name);
+                }
+            }
+        }
+        appendText(out, html, position, html.length());
+
+        while (!openTags.isEmpty()) {
+            out.append("</").append(openTags.pop()).append('>');
+        }
+        return out.toString();
+    }
+
+    private static void appendText(StringBuilder out, String html, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = html.charAt(i);
+            switch (c) {
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                case '&':
+                    // 에디터가 이미 escape 한 엔티티(&nbsp; 등)는 그대로 두고 맨 & 만 escape
+                    Matcher entity = ENTITY.matcher(html).region(i, end);
+                    out.append(entity.lookingAt() ? "&" : "&amp;");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+    // 열린 태그 중에 같은 이름이 있을 때만 그 태그까지 닫음
+    private static void closeTag(StringBuilder out, Deque<String> openTags, String name) {
+        if (!openTags.contains(name)) {
+            return;
+        }
+        String open;
+        do {
+            open = openTags.pop();
+            out.append("</").append(open).append('>');
+        } while (!open.equals(name));
+    }
+
+    private static int skipElement(String html, String name, int position) {
+        Matcher close = Pattern.compile("</" + name + "\\s*>", Pattern.CASE_INSENSITIVE).matcher(html);
+        return close.find(position) ? close.end() : html.length();
+    }
+
+    private static void appendAttributes(StringBuilder out, String tag, String attributes) {
+        Set<String> allowed = TAG_ATTRIBUTES.getOrDefault(tag, Set.of());
+        Matcher matcher = ATTRIBUTE.matcher(attributes);
+        while (matcher.find()) {
+            String name = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (!allowed.contains(name) && !COMMON_ATTRIBUTES.contains(name)) {
+                continue;
+            }
+            String raw = matcher.group(2) != null ? matcher.group(2)
+                    : matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+            String value = raw == null ? "" : HtmlUtils.htmlUnescape(raw).trim();
+            String safe = safeValue(name, value);
+            if (safe != null) {
+                out.append(' ').append(name).append("=\"").append(HtmlUtils.htmlEscape(safe)).append('"');
+            }
+        }
+    }
+
+    private static String safeValue(String name, String value) {
+        switch (name) {
+            case "href":
+                return SAFE_URL.matcher(value).matches() ? value : null;
+            case "src":
+                return SAFE_IMAGE_URL.matcher(value).matches() ? value : null;
+            case "style":
+                String style = safeStyle(value);
+                return style.isEmpty() ? null : style;
+            case "alt":
+            case "title":
+                return value;
+            default:
+                return SAFE_VALUE.matcher(value).matches() ? value : null;
+        }
+    }
+
+    // 허용한 속성만, url(), expression() 같은 함수 없이 단순한 값만 남김
+    private static String safeStyle(String style) {
+        StringBuilder out = new StringBuilder();
+        for (String declaration : style.split(";")) {
+            int colon = declaration.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String property = declaration.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = declaration.substring(colon + 1).trim();
+            String lower = value.toLowerCase(Locale.ROOT);
+            if (!STYLE_PROPERTIES.contains(property) || !SAFE_STYLE_VALUE.matcher(value).matches()
+                    || lower.contains("url") || lower.contains("expression")) {
+                continue;
+            }
+            if (out.length() > 0) {
+                out.append(' ');
+            }
+            out.append(property).append(": ").append(value).append(';');
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.sangwontest.studyolle.infra.image;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+이미지 저장소를 쓰기 전에는 배너(study.image), 프로필 사진(account.profile_image)에 data url 을 그대로 저장했음
+base64 를 풀어서 파일로 저장하는 일은 SQL 로 할 수 없으므로 app.image-backfill=true 로 한번 띄워서 옮김 (db/backfill/data-url-images.sql 참고)
+data url 이 남은 행만 다시 읽으므로 여러번 실행해도 됨. 검색 색인, 캐시가 채워지기 전(ApplicationReadyEvent 전)에 끝남
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.image-backfill", havingValue = "true")
+public class DataUrlImageBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageService imageService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill("study", "image");
+        backfill("account", "profile_image");
+    }
+
+    private void backfill(String table, String column) {
+        int stored = 0;
+        int dropped = 0;
+        long afterId = 0L;
+        List<ImageRow> rows;
+        do {
+            rows = jdbcTemplate.query("select id, " + column + " from " + table +
+                            " where id > ? and " + column + " like 'data:image/%' order by id limit ?",
+                    (rs, rowNum) -> new ImageRow(rs.getLong(1), rs.getString(2)), afterId, BATCH_SIZE);
+            for (ImageRow row : rows) {
+                String hash;
+                try {
+                    hash = imageService.store(row.value);
+                    stored++;
+                } catch (IllegalArgumentException e) {
+                    // 허용하지 않는 형식이면 /image/{hash} 로 내려줄 수 없으므로 기본 이미지로 돌림
+                    log.warn("dropped {}.{} of id {} : {}", table, column, row.id, e.getMessage());
+                    hash = null;
+                    dropped++;
+                }
+                // 옮기는 사이에 사용자가 이미지를 바꿨으면 덮어쓰지 않음
+                jdbcTemplate.update("update " + table + " set " + column + " = ? where id = ? and " + column + " = ?",
+                        hash, row.id, row.value);
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).id;
+            }
+        } while (rows.size() == BATCH_SIZE);
+
+        log.info("{}.{} backfilled : {} stored, {} dropped", table, column, stored, dropped);
+    }
+
+    private static class ImageRow {
+
+        private final long id;
+        private final String value;
+
+        ImageRow(long id, String value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
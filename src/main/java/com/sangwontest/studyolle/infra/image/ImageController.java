@@ -0,0 +1,71 @@
+package com.sangwontest.studyolle.infra.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+@Controller
+@RequiredArgsConstructor
+public class ImageController {
+
+    // 해시가 곧 내용이므로 한번 내려간 이미지는 바뀌지 않는다 -> 브라우저/CDN 이 영구히 캐시해도 됨
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final ImageStore imageStore;
+
+    @GetMapping("/image/{hash}")
+    public void getImage(@PathVariable String hash,
+                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                         HttpServletResponse response) throws IOException {
+        Optional<StoredImage> found = imageStore.find(hash);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        StoredImage image = found.get();
+        String etag = "\"" + image.getHash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        response.setHeader("X-Content-Type-Options", "nosniff"); // 브라우저가 내용을 보고 html 등으로 해석하지 않도록 함
+
+        if (etag.equals(ifNoneMatch)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(image.getContentType());
+        response.setContentLengthLong(image.getSize());
+
+        try (ReadableByteChannel in = image.openChannel()) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            if (in instanceof FileChannel) {
+                // 파일이면 transferTo로 힙에 올리지 않고 바로 내보냄
+                FileChannel fileChannel = (FileChannel) in;
+                long position = 0;
+                while (position < image.getSize()) {
+                    position += fileChannel.transferTo(position, image.getSize() - position, out);
+                }
+            } else {
+                ByteBuffer buffer = ByteBuffer.allocate(8192);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    out.write(buffer);
+                    buffer.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sangwontest.studyolle.infra.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+@Service
+@RequiredArgsConstructor
+public class ImageService {
+
+    // 화면에서 2MB 이하로 잘라서 올리기 때문에 서버에서도 같은 크기로 제한
+    public static final int MAX_IMAGE_SIZE = 2 * 1024 * 1024;
+
+    private static final String DATA_URL_PREFIX = "data:image/";
+    private static final String BASE64_MARKER = ";base64,";
+
+    private final ImageStore imageStore;
+
+    /*
+    화면에서 넘어온 값이 저장 가능한 값인지 확인
+    비어있거나(이미지 삭제), 이미 저장된 이미지의 해시이거나, data:image/...;base64, 형태여야 함
+    해시 모양이어도 저장소에 없는 이미지면 받지 않음 -> 깨진 이미지 링크가 엔티티에 남지 않도록 함
+     */
+    public boolean isAcceptable(String value) {
+        if (value == null || value.isBlank()) {
+            return true;
+        }
+        if (isReference(value)) {
+            return isStored(value);
+        }
+        try {
+            checkType(decode(value));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /*
+    data url 이면 저장소에 저장하고 해시를 돌려줌, 이미 저장된 이미지의 해시라면 그대로 돌려줌
+     */
+    public String store(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        if (isReference(value)) {
+            if (!isStored(value)) {
+                throw new IllegalArgumentException("저장되지 않은 이미지입니다.");
+            }
+            return value;
+        }
+
+        try {
+            byte[] content = decode(value);
+            return imageStore.save(content, checkType(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isReference(String value) {
+        return ImageStore.HASH_PATTERN.matcher(value).matches();
+    }
+
+    private boolean isStored(String hash) {
+        return imageStore.find(hash).isPresent();
+    }
+
+    private byte[] decode(String dataUrl) {
+        int marker = dataUrl.indexOf(BASE64_MARKER);
+        if (!dataUrl.startsWith(DATA_URL_PREFIX) || marker < 0) {
+            throw new IllegalArgumentException("이미지 형식이 올바르지 않습니다.");
+        }
+
+        byte[] content = Base64.getDecoder().decode(dataUrl.substring(marker + BASE64_MARKER.length()));
+        if (content.length == 0 || content.length > MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("이미지 크기가 올바르지 않습니다.");
+        }
+        return content;
+    }
+
+    // data:image/ 접두사는 클라이언트가 마음대로 붙일 수 있으므로 실제 바이트가 허용된 이미지 형식인지 확인
+    private ImageType checkType(byte[] content) {
+        return ImageType.detect(content)
+                .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 이미지 형식입니다."));
+    }
+}
@@ -0,0 +1,16 @@
+package com.sangwontest.studyolle.infra.image;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// 이미지 바이트를 저장하는 저장소. 내용의 SHA-256 해시를 키로 사용하므로 같은 이미지는 한번만 저장된다.
+// 형식은 저장할 때 검증된 ImageType 을 같이 저장하고, 조회할 때 다시 추측하지 않는다.
+public interface ImageStore {
+
+    Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    String save(byte[] content, ImageType type) throws IOException;
+
+    Optional<StoredImage> find(String hash);
+}
@@ -0,0 +1,67 @@
+package com.sangwontest.studyolle.infra.image;
+
+import java.util.Optional;
+
+// 저장/서빙을 허용하는 이미지 형식. 형식은 data url 의 mime 이 아니라 실제 바이트의 매직 넘버로 판단한다.
+public enum ImageType {
+
+    PNG("image/png", "png"),
+    JPEG("image/jpeg", "jpg"),
+    GIF("image/gif", "gif"),
+    WEBP("image/webp", "webp");
+
+    // 매직 넘버를 판별하는데 필요한 최대 길이 (webp : RIFF....WEBP)
+    public static final int HEADER_LENGTH = 12;
+
+    private final String contentType;
+    private final String extension;
+
+    ImageType(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /*
+    허용된 형식이 아니면 empty -> html, svg 같은 내용이 이미지로 저장되어 우리 도메인에서 서빙되지 않도록 함
+     */
+    public static Optional<ImageType> detect(byte[] header, int length) {
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return Optional.of(PNG);
+        }
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return Optional.of(JPEG);
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8', '7', 'a') || startsWith(header, length, 'G', 'I', 'F', '8', '9', 'a')) {
+            return Optional.of(GIF);
+        }
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && length >= HEADER_LENGTH
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<ImageType> detect(byte[] content) {
+        return detect(content, content.length);
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sangwontest.studyolle.infra.image;
+
+import com.sangwontest.studyolle.infra.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalImageStore implements ImageStore {
+
+    private final AppProperties appProperties;
+
+    @Override
+    public String save(byte[] content, ImageType type) throws IOException {
+        String hash = sha256(content);
+        Path target = pathOf(hash, type);
+        if (Files.exists(target)) { // 같은 내용이면 이미 저장되어 있으므로 다시 쓰지 않음
+            return hash;
+        }
+
+        Files.createDirectories(target.getParent());
+        //임시파일에 먼저 쓰고 옮겨서 다른 요청이 쓰다 만 파일을 읽지 않도록 함
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            log.info("image already stored : {}", hash);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<StoredImage> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+
+        try {
+            for (ImageType type : ImageType.values()) {
+                Path path = pathOf(hash, type);
+                if (Files.isRegularFile(path)) {
+                    return Optional.of(new LocalStoredImage(hash, path, Files.size(path), type.getContentType()));
+                }
+            }
+            return findLegacy(hash);
+        } catch (IOException e) {
+            log.info("failed to read image", e);
+            return Optional.empty();
+        }
+    }
+
+    /*
+    확장자 없이 저장된 예전 파일은 허용된 형식일 때만 내려줌
+    형식을 알 수 없는 파일은 없는 이미지로 취급
+     */
+    private Optional<StoredImage> findLegacy(String hash) throws IOException {
+        Path path = directoryOf(hash).resolve(hash);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        byte[] header = new byte[ImageType.HEADER_LENGTH];
+        int read;
+        try (InputStream in = Files.newInputStream(path)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        Optional<ImageType> type = ImageType.detect(header, read);
+        if (type.isEmpty()) {
+            log.warn("refused to serve image with unknown type : {}", hash);
+            return Optional.empty();
+        }
+        return Optional.of(new LocalStoredImage(hash, path, Files.size(path), type.get().getContentType()));
+    }
+
+    // ab/cd/abcd....png 형태로 디렉토리를 나눠서 한 디렉토리에 파일이 너무 많이 쌓이지 않게 함
+    private Path pathOf(String hash, ImageType type) {
+        return directoryOf(hash).resolve(hash + "." + type.getExtension());
+    }
+
+    private Path directoryOf(String hash) {
+        return Paths.get(appProperties.getImageDirectory())
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4));
+    }
+
+    private String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class LocalStoredImage implements StoredImage {
+
+        private final String hash;
+        private final Path path;
+        private final long size;
+        private final String contentType;
+
+        LocalStoredImage(String hash, Path path, long size, String contentType) {
+            this.hash = hash;
+            this.path = path;
+            this.size = size;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public String getHash() {
+            return hash;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public ReadableByteChannel openChannel() throws IOException {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        }
+    }
+}
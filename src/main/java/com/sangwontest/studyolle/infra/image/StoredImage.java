@@ -0,0 +1,15 @@
+package com.sangwontest.studyolle.infra.image;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+public interface StoredImage {
+
+    String getHash();
+
+    String getContentType();
+
+    long getSize();
+
+    ReadableByteChannel openChannel() throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.sangwontest.studyolle.infra.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+동시에 같은 행을 고치다가 충돌한 경우 (낙관적 락 버전 불일치, 같은 조인 행 중복 insert, 락 대기 실패)
+트랜잭션을 처음부터 다시 실행함. 트랜잭션 바깥에서 감싸야 하므로 @Transactional 메서드에 같이 붙여도 됨
+메서드는 매번 DB 에서 다시 읽어야 하므로 엔티티 대신 path, id 같은 값을 받아야 함
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    int maxAttempts() default 3;
+
+    long backoffMillis() default 20;
+}
@@ -0,0 +1,40 @@
+package com.sangwontest.studyolle.infra.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+//트랜잭션 프록시(LOWEST_PRECEDENCE)보다 먼저 (바깥에서) 실행되도록 우선순위를 하나 높게 줌 -> 재시도마다 새 트랜잭션
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnConflictAspect {
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        int attempt = 1;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    throw e;
+                }
+                log.debug("{} 충돌로 다시 시도 ({}/{}) : {}", joinPoint.getSignature().toShortString(),
+                        attempt, retryOnConflict.maxAttempts(), e.getMessage());
+                // 같이 충돌한 요청끼리 다시 부딪히지 않도록 조금씩 다르게 기다림
+                Thread.sleep(retryOnConflict.backoffMillis() * attempt + ThreadLocalRandom.current().nextLong(retryOnConflict.backoffMillis() + 1));
+                attempt++;
+            }
+        }
+    }
+}
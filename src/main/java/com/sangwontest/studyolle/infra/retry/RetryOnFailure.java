@@ -0,0 +1,19 @@
+package com.sangwontest.studyolle.infra.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+비동기 이벤트 리스너처럼 다시 실행해도 되는 작업이 일시적인 오류(DB 연결, 락 대기 등)로 실패한 경우 다시 실행함
+요청 스레드가 아니므로 RetryOnConflict 보다 길게 기다림. 끝까지 실패하면 예외를 그대로 던짐 (AsyncConfig 에서 로그, 집계)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnFailure {
+
+    int maxAttempts() default 3;
+
+    long backoffMillis() default 500;
+}
@@ -0,0 +1,42 @@
+package com.sangwontest.studyolle.infra.retry;
+
+import com.sangwontest.studyolle.infra.async.AsyncEventMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+//RetryOnConflictAspect 와 같이 트랜잭션 프록시 바깥에서 실행 -> 재시도마다 새 트랜잭션
+//@Async 는 이것보다도 바깥이라서 재시도는 비동기 스레드 안에서 일어남
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnFailureAspect {
+
+    private final AsyncEventMetrics asyncEventMetrics;
+
+    @Around("@annotation(retryOnFailure)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnFailure retryOnFailure) throws Throwable {
+        int attempt = 1;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException e) {
+                if (attempt >= retryOnFailure.maxAttempts()) {
+                    throw e;
+                }
+                log.warn("{} 실패로 다시 시도 ({}/{}) : {}", joinPoint.getSignature().toShortString(),
+                        attempt, retryOnFailure.maxAttempts(), e.getMessage());
+                asyncEventMetrics.retried();
+                Thread.sleep(retryOnFailure.backoffMillis() * attempt); // 1, 2, 3 .. 배로 늘려가며 기다림
+                attempt++;
+            }
+        }
+    }
+}
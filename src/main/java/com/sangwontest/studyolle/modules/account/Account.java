@@ -42,9 +42,9 @@ public class Account extends BaseEntity {
 
     private String location; // 사는지역
 
-    //프로필 사진은 varchar 기본 길이인 255보다 커질 수있기 때문에
-    //lob이라고 매핑해주면 Text타입으로 매핑됨, EAGER
-    @Lob @Basic(fetch = FetchType.EAGER)
+    //프로필 사진 자체는 이미지 저장소에 두고 엔티티에는 내용의 SHA-256 해시만 저장함
+    //조회할 때마다 base64 이미지 전체를 끌고오지 않기 위함 -> /image/{hash} 로 내려줌
+    @Column(length = 64)
     private String profileImage; // 프로필사진
 
     private boolean studyCreatedByEmail; // 스터디가 만들어졌다는걸 이메일로 받을 것인가.
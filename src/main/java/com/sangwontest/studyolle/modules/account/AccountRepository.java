@@ -3,6 +3,9 @@ package com.sangwontest.studyolle.modules.account;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
 @Transactional(readOnly = true)
 public interface AccountRepository extends JpaRepository<Account, Long> {
     boolean existsByEmail(String email);
@@ -12,4 +15,6 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Account findByEmail(String email);
 
     Account findByNickname(String nickname);
+
+    List<Account> findByEmailIn(Collection<String> emails);
 }
@@ -1,12 +1,16 @@
 package com.sangwontest.studyolle.modules.account;
 
 import com.sangwontest.studyolle.infra.config.AppProperties;
+import com.sangwontest.studyolle.infra.config.CacheConfig;
+import com.sangwontest.studyolle.infra.image.ImageService;
 import com.sangwontest.studyolle.modules.zone.Zones;
 import com.sangwontest.studyolle.infra.mail.EmailMessage;
 import com.sangwontest.studyolle.infra.mail.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -34,6 +38,7 @@ public class AccountService implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final TemplateEngine templateEngine;
     private final AppProperties appProperties;
+    private final ImageService imageService;
 
 
     @Transactional
@@ -86,10 +91,11 @@ public class AccountService implements UserDetailsService {
 
 
     public void login(Account account) {
+        List<GrantedAuthority> authorities = authoritiesOf(account);
         UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
-                new UserAccount(account),
+                new UserAccount(account, authorities),
                 account.getPassword(),
-                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+                authorities);
         SecurityContext context = SecurityContextHolder.getContext();
         context.setAuthentication(token);
     }
@@ -107,7 +113,15 @@ public class AccountService implements UserDetailsService {
             throw new UsernameNotFoundException(emailOrNickname);
         }
 
-        return new UserAccount(account);
+        return new UserAccount(account, authoritiesOf(account));
+    }
+
+    // 설정(app.admin-emails)에 있는 계정만 관리자 권한을 받음
+    private List<GrantedAuthority> authoritiesOf(Account account) {
+        if (appProperties.getAdminEmails().contains(account.getEmail())) {
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
     }
 
     public void completeSignUp(Account account) {
@@ -116,8 +130,10 @@ public class AccountService implements UserDetailsService {
     }
 
     public void updateProfile(Account account, Profile profile) {
+        profile.setProfileImage(imageService.store(profile.getProfileImage())); // data url -> 이미지 저장소에 저장 후 해시로 바꿔줌
         account.updateProfile(profile);
         accountRepository.save(account); // merge
+        login(account); // 세션의 UserAccount 에 있는 프로필 이미지 해시도 갱신
     }
 
     public void updatePassword(Account account, String newPassword) {
@@ -162,11 +178,13 @@ public class AccountService implements UserDetailsService {
         return accountRepository.findById(account.getId()).orElseThrow().getTags();
     }
 
+    @CacheEvict(value = CacheConfig.HOME_FEED_CACHE, key = "#account.id")
     public void addTag(Account account, Tags tags) {
         accountRepository.findById(account.getId()) //Account가 detached상태이기 때문에 persist상태로 가져와야함 그래서 findByid 해줌
                 .ifPresent(a -> a.getTags().add(tags));
     }
 
+    @CacheEvict(value = CacheConfig.HOME_FEED_CACHE, key = "#account.id")
     public void removeTag(Account account, Tags tags) {
         accountRepository.findById(account.getId()) //Account가 detached상태이기 때문에 persist상태로 가져와야함 그래서 findByid 해줌
                 .ifPresent(a -> a.getTags().remove(tags));
@@ -176,11 +194,13 @@ public class AccountService implements UserDetailsService {
         return accountRepository.findById(account.getId()).orElseThrow().getZones();
     }
 
+    @CacheEvict(value = CacheConfig.HOME_FEED_CACHE, key = "#account.id")
     public void addZone(Account account, Zones zones) {
         accountRepository.findById(account.getId())//Account가 detached상태이기 때문에 persist상태로 가져와야함 그래서 findByid 해줌
                 .ifPresent(a -> a.getZones().add(zones));
     }
 
+    @CacheEvict(value = CacheConfig.HOME_FEED_CACHE, key = "#account.id")
     public void removeZone(Account account, Zones zones) {
         accountRepository.findById(account.getId()) //Account가 detached상태이기 때문에 persist상태로 가져와야함 그래서 findByid 해줌
                 .ifPresent(a -> a.getZones().remove(zones));
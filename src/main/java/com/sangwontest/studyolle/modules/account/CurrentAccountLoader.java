@@ -0,0 +1,24 @@
+package com.sangwontest.studyolle.modules.account;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+//세션에는 UserAccount(요약 정보)만 두고, 컨트롤러에서 Account 엔티티가 필요할 때만 요청 단위로 한번 조회함
+//같은 요청 안에서는 다시 조회하지 않고 처음 조회한 엔티티를 돌려줌
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentAccountLoader {
+
+    private final AccountRepository accountRepository;
+
+    private Account account;
+
+    public Account load(UserAccount userAccount) {
+        if (account == null || !userAccount.isAccountOf(account)) {
+            account = accountRepository.findById(userAccount.getAccountId()).orElse(null);
+        }
+        return account;
+    }
+}
@@ -1,14 +1,13 @@
 package com.sangwontest.studyolle.modules.account;
 
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+//로그인한 사용자를 컨트롤러 파라미터로 받을 때 사용 -> CurrentUserArgumentResolver 가 처리함
+//Account 타입이면 요청마다 엔티티를 조회해서, UserAccount 타입이면 세션에 있는 요약 정보를 그대로 넘겨줌
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
-@AuthenticationPrincipal(expression = "#this == 'anonymousUser' ? null : account")
 public @interface CurrentUser {
 }
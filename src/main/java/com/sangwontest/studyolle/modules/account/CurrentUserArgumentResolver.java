@@ -0,0 +1,42 @@
+package com.sangwontest.studyolle.modules.account;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+//@CurrentUser Account 파라미터를 채워줌
+//로그인하지 않았으면 null, 로그인했다면 UserAccount 의 id로 Account 를 조회해서 넘겨줌
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final CurrentAccountLoader currentAccountLoader;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (Account.class.isAssignableFrom(parameter.getParameterType())
+                || UserAccount.class.isAssignableFrom(parameter.getParameterType()));
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserAccount)) {
+            return null; // anonymousUser
+        }
+
+        UserAccount userAccount = (UserAccount) authentication.getPrincipal();
+        if (UserAccount.class.isAssignableFrom(parameter.getParameterType())) {
+            return userAccount;
+        }
+        return currentAccountLoader.load(userAccount);
+    }
+}
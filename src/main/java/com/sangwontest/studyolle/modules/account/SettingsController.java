@@ -3,6 +3,7 @@ package com.sangwontest.studyolle.modules.account;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.sangwontest.studyolle.infra.image.ImageService;
 import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
 import com.sangwontest.studyolle.modules.account.validator.NicknameValidator;
 import com.sangwontest.studyolle.modules.account.validator.PasswordFormValidator;
@@ -41,6 +42,7 @@ public class SettingsController {
     private final TagsRepository tagsRepository;
     private final ZoneRepository zoneRepository;
     private final ObjectMapper objectMapper;
+    private final ImageService imageService;
 
 
     @InitBinder("passwordForm")
@@ -64,6 +66,9 @@ public class SettingsController {
     @PostMapping("/settings/profile")
     public String updateProfile(@CurrentUser Account account, @Valid @ModelAttribute Profile profile, Errors errors,
                                 Model model, RedirectAttributes attributes) {
+        if (!imageService.isAcceptable(profile.getProfileImage())) {
+            errors.rejectValue("profileImage", "wrong.value", "프로필 이미지를 다시 선택하세요.");
+        }
         if (errors.hasErrors()) {
             model.addAttribute(account);
             return SETTINGS_PROFILE_VIEW_NAME;
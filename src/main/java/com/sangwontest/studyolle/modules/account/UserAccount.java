@@ -1,21 +1,46 @@
 package com.sangwontest.studyolle.modules.account;
 
 import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
+import java.util.Collection;
 import java.util.List;
 
 //spring security 가 다루는 유저정보와 우리 도메인에서 다루는 유저정보의 사이의 갭을 매꿔주는 어댑터 역할
 //User는 spring security 에서 오는 것이다.
+//세션에 Account 엔티티를 통째로 넣으면 tags, zones 프록시까지 세션에 같이 들어가기 때문에
+//화면에 필요한 최소한의 값만 복사해서 들고 있고, 엔티티가 필요하면 CurrentAccountLoader 로 요청마다 다시 조회함
 @Getter
 public class UserAccount extends User {
 
-    private Account account;
+    private final Long accountId;
+
+    private final String email;
+
+    private final boolean emailVerified;
+
+    private final String profileImage; // 프로필 이미지 해시
 
     public UserAccount(Account account) {
-        super(account.getNickname(), account.getPassword(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
-        this.account = account;
+        this(account, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    public UserAccount(Account account, Collection<? extends GrantedAuthority> authorities) {
+        super(account.getNickname(), account.getPassword(), authorities);
+        this.accountId = account.getId();
+        this.email = account.getEmail();
+        this.emailVerified = account.isEmailVerified();
+        this.profileImage = account.getProfileImage();
         //spring security 가 다루는 유저정보를 우리가 갖고있는 유저정보와 연동해주는 것
     }
+
+    public String getNickname() {
+        return getUsername();
+    }
+
+    public boolean isAccountOf(Account account) {
+        return account != null && this.accountId.equals(account.getId());
+    }
 }
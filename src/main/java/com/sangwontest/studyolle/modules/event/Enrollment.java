@@ -6,9 +6,16 @@ import lombok.*;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 
+// 한 계정은 한 모임에 한번만 신청할 수 있음. 중복 확인을 건너뛴 요청이 있어도 DB 에서 막음
+// 대기자는 (모임, 확정 여부, 신청 순서) 인덱스를 앞에서부터 읽어서 확정함 -> 신청 목록 전체를 읽지 않고 순서도 항상 같음
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = {"event_id", "account_id"}),
+        indexes = @Index(name = "idx_enrollment_waiting", columnList = "event_id, accepted, position"))
 @Entity
 @Getter
 @EqualsAndHashCode(of = "id")
@@ -28,16 +35,12 @@ public class Enrollment {
 
     private LocalDateTime enrolledAt;
 
+    private int position; // 모임 안에서의 신청 순서 (Event.nextEnrollmentPosition)
+
     private boolean accepted;
 
     private boolean attended;
 
-    public void newEnrollment(LocalDateTime enrolledAt, boolean accepted, Account account) {
-        this.enrolledAt = enrolledAt;
-        this.account = account;
-        this.accepted = accepted;
-    }
-
     public void setEvent(Event event) {
         this.event = event;
     }
@@ -0,0 +1,26 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+//참가 신청이 확정됨 (대기에서 확정으로 올라감, 관리자가 확정함). 한번에 확정된 계정을 묶어서 보냄
+//리스너는 커밋된 뒤에 다른 스레드에서 돌기 때문에 알림에 필요한 값을 미리 담아둠
+@Getter
+@RequiredArgsConstructor
+public class EnrollmentAcceptedEvent {
+
+    private final Long eventId;
+
+    private final String eventTitle;
+
+    private final String link;
+
+    private final List<Long> accountIds;
+
+    public static EnrollmentAcceptedEvent of(Event event, List<Long> accountIds) {
+        String link = "/study/" + event.getStudy().getEncodePath() + "/events/" + event.getId();
+        return new EnrollmentAcceptedEvent(event.getId(), event.getTitle(), link, accountIds);
+    }
+}
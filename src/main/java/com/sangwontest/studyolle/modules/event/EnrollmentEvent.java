@@ -0,0 +1,17 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//참가 신청 상태가 바뀐 것을 신청한 계정에게 알리기 위한 이벤트 (확정, 거절, 대기에서 확정으로 올라감)
+//리스너는 커밋된 뒤에 다른 스레드에서 돌 수 있으므로 엔티티 대신 id 를 넘김
+@Getter
+@RequiredArgsConstructor
+public class EnrollmentEvent {
+
+    private final Long eventId;
+
+    private final Long accountId;
+
+    private final String message;
+}
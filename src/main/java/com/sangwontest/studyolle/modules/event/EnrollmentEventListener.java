@@ -0,0 +1,43 @@
+package com.sangwontest.studyolle.modules.event;
+
+import com.sangwontest.studyolle.modules.notification.NotificationFanOut;
+import com.sangwontest.studyolle.modules.notification.NotificationMessage;
+import com.sangwontest.studyolle.modules.notification.NotificationType;
+import com.sangwontest.studyolle.modules.notification.PushService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+//모임 화면(event/view.html)을 보고 있는 계정에게 신청 상태가 바뀐 것을 SSE 로 바로 알림 -> 새로고침 없이 화면을 갱신
+//확정된 경우는 알림함(웹 알림)과 이메일로도 알림 (계정의 참가 신청 결과 알림 설정을 따름)
+@Component
+@RequiredArgsConstructor
+public class EnrollmentEventListener {
+
+    static final String ACCEPTED_MESSAGE = "참가 신청이 확정되었습니다.";
+
+    private final PushService pushService;
+    private final NotificationFanOut notificationFanOut;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleEnrollmentEvent(EnrollmentEvent enrollmentEvent) {
+        push(enrollmentEvent.getAccountId(), enrollmentEvent.getEventId(), enrollmentEvent.getMessage());
+    }
+
+    // 웹 알림을 넣는 트랜잭션이 요청 스레드를 잡고 있지 않도록 AsyncConfig 의 executor 에서 처리
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleEnrollmentAcceptedEvent(EnrollmentAcceptedEvent acceptedEvent) {
+        acceptedEvent.getAccountIds().forEach(accountId -> push(accountId, acceptedEvent.getEventId(), ACCEPTED_MESSAGE));
+        notificationFanOut.notifyEnrollmentResult(new NotificationMessage(NotificationType.EVENT_ENROLLMENT,
+                acceptedEvent.getEventTitle(), acceptedEvent.getLink(), ACCEPTED_MESSAGE), acceptedEvent.getAccountIds());
+    }
+
+    private void push(Long accountId, Long eventId, String message) {
+        pushService.send(accountId, "enrollment", Map.of("eventId", eventId, "message", message));
+    }
+}
@@ -0,0 +1,19 @@
+package com.sangwontest.studyolle.modules.event;
+
+import java.time.LocalDateTime;
+
+//모임 화면의 참가 신청 목록 한 줄. 신청 엔티티와 계정 대신 화면에 그리는 컬럼만 읽음
+public interface EnrollmentListItem {
+
+    Long getId(); // 관리자의 수락, 체크인 링크
+
+    String getNickname();
+
+    String getProfileImage();
+
+    LocalDateTime getEnrolledAt();
+
+    boolean isAccepted();
+
+    boolean isAttended();
+}
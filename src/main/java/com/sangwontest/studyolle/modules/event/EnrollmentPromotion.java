@@ -0,0 +1,66 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/*
+대기자를 확정한 기록. 넣기만 하고 고치거나 지우지 않음 (@Immutable)
+모임 단위로 sequence 순서대로 읽으면 누가 어떤 순서로 확정됐는지 다시 따라가 볼 수 있음 -> 신청 순서(position)를 건너뛴 확정이 있는지 확인
+id 는 서버마다 시퀀스를 50개씩 미리 받아서 쓰므로 서버가 여러대면 확정한 순서와 맞지 않음
+sequence 는 모임 행을 잠근 상태에서 모임의 카운터(Event.nextPromotionSequence)로 매기므로 서버가 몇 대든 확정한 순서 그대로임
+신청(Enrollment)은 취소하면 지워지므로 연관관계 대신 id 와 당시 값을 복사해서 남김
+ */
+@Table(indexes = @Index(name = "idx_enrollment_promotion_event", columnList = "eventId, sequence"))
+@Entity
+@Getter
+@Immutable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EnrollmentPromotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_promotion_seq")
+    @SequenceGenerator(name = "enrollment_promotion_seq", sequenceName = "enrollment_promotion_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    private int sequence; // 모임 안에서 확정한 순서
+
+    @Column(nullable = false)
+    private Long enrollmentId;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    private int position;
+
+    @Enumerated(EnumType.STRING)
+    private PromotionReason reason;
+
+    private LocalDateTime promotedAt;
+
+    public EnrollmentPromotion(Long eventId, int sequence, WaitingEnrollment enrollment, PromotionReason reason, LocalDateTime promotedAt) {
+        this.eventId = eventId;
+        this.sequence = sequence;
+        this.enrollmentId = enrollment.getId();
+        this.accountId = enrollment.getAccountId();
+        this.position = enrollment.getPosition();
+        this.reason = reason;
+        this.promotedAt = promotedAt;
+    }
+}
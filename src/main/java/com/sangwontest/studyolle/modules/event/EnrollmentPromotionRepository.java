@@ -0,0 +1,13 @@
+package com.sangwontest.studyolle.modules.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface EnrollmentPromotionRepository extends JpaRepository<EnrollmentPromotion, Long> {
+
+    // 확정한 순서대로 (idx_enrollment_promotion_event)
+    List<EnrollmentPromotion> findByEventIdOrderBySequence(Long eventId);
+}
@@ -1,10 +1,51 @@
 package com.sangwontest.studyolle.modules.event;
 
 import com.sangwontest.studyolle.modules.account.Account;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     boolean existsByEventAndAccount(Event event, Account account);
 
     Enrollment findByEventAndAccount(Event event, Account account);
+
+    // 한 사람의 신청 상태를 모임 여러개에 대해 한번에 (uk_enrollment_event_account). 다른 사람의 신청과 계정은 읽지 않음
+    @Query("select e.event.id as eventId, e.accepted as accepted, e.attended as attended from Enrollment e " +
+            "where e.event.id in :eventIds and e.account.id = :accountId")
+    List<EnrollmentState> findStates(@Param("eventIds") Collection<Long> eventIds, @Param("accountId") Long accountId);
+
+    // 모임 화면의 신청 목록, 신청 순서대로. 신청한 계정은 닉네임과 프로필 이미지만 join 으로 같이 읽음
+    @Query("select e.id as id, a.nickname as nickname, a.profileImage as profileImage, e.enrolledAt as enrolledAt, " +
+            "e.accepted as accepted, e.attended as attended from Enrollment e join e.account a " +
+            "where e.event = :event order by e.position")
+    List<EnrollmentListItem> findListItems(@Param("event") Event event);
+
+    // 신청 목록을 메모리에 올리지 않고 확정된 인원만 셈
+    long countByEventAndAcceptedTrue(Event event);
+
+    // 대기 순서대로 앞에서 몇 명만 (idx_enrollment_waiting). 엔티티 대신 id 만 읽어서 계정을 같이 로딩하지 않음
+    @Query("select e.id as id, e.account.id as accountId, e.position as position from Enrollment e " +
+            "where e.event = :event and e.accepted = false order by e.position")
+    List<WaitingEnrollment> findWaitingEnrollments(@Param("event") Event event, Pageable pageable);
+
+    // 고른 대기자를 update 한번으로 확정. 영속성 컨텍스트에 예전 값이 남지 않도록 update 뒤에 비움
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Enrollment e set e.accepted = true where e.id in :ids")
+    int acceptAll(@Param("ids") List<Long> ids);
+
+    // 상태가 실제로 바뀐 경우만 1 -> 두번 눌러도 카운터는 한번만 고침. 체크인한 신청은 확정, 취소하지 않음
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Enrollment e set e.accepted = :accepted " +
+            "where e.id = :id and e.event = :event and e.accepted <> :accepted and e.attended = false")
+    int updateAccepted(@Param("event") Event event, @Param("id") Long id, @Param("accepted") boolean accepted);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Enrollment e set e.attended = :attended where e.id = :id and e.event = :event and e.attended <> :attended")
+    int updateAttended(@Param("event") Event event, @Param("id") Long id, @Param("attended") boolean attended);
 }
@@ -0,0 +1,11 @@
+package com.sangwontest.studyolle.modules.event;
+
+//화면에서 로그인한 사람의 신청 상태만 확인할 때 쓰는 신청 정보. 모임 id 로 묶어서 템플릿에 넘김
+public interface EnrollmentState {
+
+    Long getEventId();
+
+    boolean isAccepted();
+
+    boolean isAttended();
+}
@@ -2,7 +2,6 @@ package com.sangwontest.studyolle.modules.event;
 
 
 import com.sangwontest.studyolle.modules.account.Account;
-import com.sangwontest.studyolle.modules.account.UserAccount;
 import com.sangwontest.studyolle.modules.event.form.EventForm;
 import com.sangwontest.studyolle.modules.study.Study;
 import lombok.*;
@@ -10,7 +9,6 @@ import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @NamedEntityGraph(
         name = "Event.withEnrollments",
@@ -55,50 +53,55 @@ public class Event {
     @Column(nullable = true)
     private Integer limitOfEnrollment;
 
+    // 신청한 순서대로 (대기자도 이 순서로 확정됨)
     @OneToMany(mappedBy = "event")
+    @OrderBy("position")
     private List<Enrollment> enrollments;
 
+    private int lastEnrollmentPosition; // 마지막으로 준 신청 순서 번호
+
+    private int lastPromotionSequence; // 마지막으로 준 대기자 확정 순서 번호 (EnrollmentPromotion.sequence)
+
+    // 목록 화면이 신청 목록을 읽지 않고 모임 행만으로 그려지도록 신청 수를 컬럼으로 유지함 (Study 의 memberCount 와 같은 방식)
+    // EventRepository.updateEnrollmentCounts 로만 증감하고, dirty checking 으로 덮어쓰지 않게 updatable = false
+    @Column(updatable = false)
+    private int acceptedCount;
+
+    @Column(updatable = false)
+    private int waitingCount;
+
+    @Column(updatable = false)
+    private int attendedCount;
+
     @Enumerated(EnumType.STRING)
     private EventType eventType;
 
-    public boolean isEnrollableFor(UserAccount userAccount) {
-        return isNotClosed() && !isAttended(userAccount) && !isAlreadyEnrolled(userAccount);
+    // 로그인한 사람의 신청(EnrollmentState)을 받아서 확인함. 신청하지 않았으면 null
+    public boolean isEnrollableFor(EnrollmentState enrollment) {
+        return isNotClosed() && enrollment == null;
     }
 
-    public boolean isDisenrollableFor(UserAccount userAccount) {
-        return isNotClosed() && !isAttended(userAccount) && isAlreadyEnrolled(userAccount);
-    }
-
-    private boolean isAlreadyEnrolled(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        for (Enrollment e: this.enrollments) {
-            if (e.getAccount().equals(account)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isDisenrollableFor(EnrollmentState enrollment) {
+        return isNotClosed() && enrollment != null && !enrollment.isAttended();
     }
 
     private boolean isNotClosed() {
         return this.endEnrollmentDateTime.isAfter(LocalDateTime.now());
     }
 
-    public boolean isAttended(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        for (Enrollment e: this.enrollments) {
-            if (e.getAccount().equals(account) && e.isAttended()) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isAttended(EnrollmentState enrollment) {
+        return enrollment != null && enrollment.isAttended();
     }
 
     public int numberOfRemainSpots() {
-        return this.limitOfEnrollment - (int) this.enrollments.stream().filter(Enrollment::isAccepted).count();
+        return Math.max(0, this.limitOfEnrollment - this.acceptedCount);
     }
 
-    public long getNumberOfAcceptedEnrollments() {
-        return this.enrollments.stream().filter(Enrollment::isAccepted).count();
+    // update 쿼리로 DB 의 카운터를 바꾼 뒤 메모리의 값만 맞춰줌
+    public void enrollmentCountsChanged(int accepted, int waiting, int attended) {
+        this.acceptedCount += accepted;
+        this.waitingCount += waiting;
+        this.attendedCount += attended;
     }
 
     public void updateEvent(EventForm eventForm) {
@@ -112,18 +115,17 @@ public class Event {
 
     }
 
-    public boolean canAccept(Enrollment enrollment) {
-        //관리자가 확인을 해야하는 모임이고 enrollment에 있으며 참석하지않고 수락하지 않은경우 accept가능
+    // 화면의 신청 목록(EnrollmentListItem)은 이 모임의 신청만 읽은 것이므로 신청 컬렉션을 다시 확인하지 않음
+    public boolean canAccept(EnrollmentListItem enrollment) {
+        //관리자가 확인을 해야하는 모임이고 참석하지않고 수락하지 않은경우 accept가능
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
                 && !enrollment.isAttended()
                 && !enrollment.isAccepted();
     }
 
-    public boolean canReject(Enrollment enrollment) {
-        //관리자가 확인을 해야하는 모임이고 enrollment에 있으며 참석하지않고 수락한경우 reject가능
+    public boolean canReject(EnrollmentListItem enrollment) {
+        //관리자가 확인을 해야하는 모임이고 참석하지않고 수락한경우 reject가능
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
                 && !enrollment.isAttended()
                 && enrollment.isAccepted();
     }
@@ -139,50 +141,21 @@ public class Event {
         enrollment.setEvent(null);
     }
 
-    public boolean isAbleToAcceptWaitingEnrollment() {
-        return this.eventType == EventType.FCFS && this.limitOfEnrollment > this.getNumberOfAcceptedEnrollments();
-    }
-
-    private Enrollment getTheFirstWaitingEnrollment() { // 가장 첫번째로 대기중인것을 가져온다
-        for (Enrollment e : this.enrollments) {
-            if (!e.isAccepted()) {
-                return e;
-            }
-        }
-        return null;
-    }
-
-    //이벤트에 한명이 확정상태였던 사용자가 빠지면, 새로운 유저를 확정상태를 만들어주는 로직
-    public void acceptNextWaitingEnrollment() {
-        if (this.isAbleToAcceptWaitingEnrollment()) { // 추가적으로 인원을 받을 수 잇는 지확인하고
-            Enrollment enrollmentToAccept = this.getTheFirstWaitingEnrollment();
-            if (enrollmentToAccept != null) {
-                enrollmentToAccept.builder().accepted(true);
-            }
-        }
-    }
-
-    public void acceptWaitingList() {
-        //늘어난 숫자만큼 자동으로 늘려줌
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            var waitingList = getWaitingList();
-            int numberToAccept = (int) Math.min(this.limitOfEnrollment - this.getNumberOfAcceptedEnrollments(), waitingList.size());
-            waitingList.subList(0, numberToAccept).forEach(e -> e.setAccepted(true));
+    // 선착순 모임에서 지금 더 확정할 수 있는 자리 수. 확정 인원은 잠근 뒤에 읽은 카운터나 count 쿼리 값을 받음
+    public int spotsToAccept(long acceptedCount) {
+        if (this.eventType != EventType.FCFS) {
+            return 0;
         }
-    }
-    private List<Enrollment> getWaitingList() {
-        return this.enrollments.stream().filter(enrollment -> !enrollment.isAccepted()).collect(Collectors.toList());
+        return (int) Math.max(0, this.limitOfEnrollment - acceptedCount);
     }
 
-    public void accept(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE && this.limitOfEnrollment > this.getNumberOfAcceptedEnrollments()) {
-            enrollment.setAccepted(true);
-        }
+    // 신청 순서 번호. 모임 행을 잠근 상태(EventRepository.findWithLockById)에서만 부르므로 같은 번호가 나오지 않음
+    public int nextEnrollmentPosition() {
+        return ++this.lastEnrollmentPosition;
     }
 
-    public void reject(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE) {
-            enrollment.setAccepted(false);
-        }
+    // 대기자 확정 순서 번호. 신청 순서 번호와 같이 모임 행을 잠근 상태에서만 부름
+    public int nextPromotionSequence() {
+        return ++this.lastPromotionSequence;
     }
 }
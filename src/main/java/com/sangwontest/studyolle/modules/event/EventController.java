@@ -6,6 +6,7 @@ import com.sangwontest.studyolle.modules.study.Study;
 import com.sangwontest.studyolle.modules.event.form.EventForm;
 import com.sangwontest.studyolle.modules.event.validator.EventValidator;
 import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.study.StudyView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -17,6 +18,9 @@ import javax.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/study/{path}")
@@ -62,19 +66,23 @@ public class EventController {
 
     @GetMapping("/events/{id}")
     public String getEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable Long id, Model model) {
+        Event event = eventRepository.findById(id).orElseThrow();
         model.addAttribute(account);
-        model.addAttribute(eventRepository.findById(id).orElseThrow());
-        model.addAttribute(studyService.getStudy(path));
+        model.addAttribute(event);
+        model.addAttribute("study", studyService.getStudyView(path));
+        // 신청 목록은 엔티티 컬렉션(event.enrollments) 대신 화면에 필요한 컬럼만 신청 순서대로 읽음
+        model.addAttribute("enrollments", enrollmentRepository.findListItems(event));
+        model.addAttribute("myEnrollments", myEnrollments(account, List.of(event)));
         return "event/view";
     }
 
     @GetMapping("/events")
     public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudy(path);
+        StudyView study = studyService.getStudyView(path);
         model.addAttribute(account);
-        model.addAttribute(study);
+        model.addAttribute("study", study);
 
-        List<Event> events = eventRepository.findByStudyOrderByStartDateTime(study);
+        List<Event> events = eventRepository.findByStudyIdOrderByStartDateTime(study.getId());
         List<Event> newEvents = new ArrayList<>();
         List<Event> oldEvents = new ArrayList<>();
 
@@ -88,6 +96,7 @@ public class EventController {
 
         model.addAttribute("newEvents", newEvents);
         model.addAttribute("oldEvents", oldEvents);
+        model.addAttribute("myEnrollments", myEnrollments(account, newEvents));
 
         return "study/events";
 
@@ -135,14 +144,14 @@ public class EventController {
     @PostMapping("/events/{id}/enroll")
     public String newEnrollment(@CurrentUser Account account, @PathVariable String path, @PathVariable Long id) {
         Study study = studyService.getStudyToEnroll(path);
-        eventService.newEnrollment(eventRepository.findById(id).orElseThrow(), account);
+        eventService.newEnrollment(id, account);
         return "redirect:/study/" + study.getEncodePath() + "/events/" + id;
     }
 
     @PostMapping("/events/{id}/disenroll")
     public String cancelEnrollment(@CurrentUser Account account, @PathVariable String path, @PathVariable Long id) {
         Study study = studyService.getStudyToEnroll(path);
-        eventService.cancelEnrollment(eventRepository.findById(id).orElseThrow(), account);
+        eventService.cancelEnrollment(id, account);
         return "redirect:/study/" + study.getEncodePath() + "/events/" + id;
     }
 
@@ -178,7 +187,7 @@ public class EventController {
         // 이렇게 되면 repository 로 부터 findbyId를 굳이 안해와도 해온 것 처럼 동작함
 
         Study study = studyService.getStudyToUpdate(account, path);
-        eventService.checkInEnrollment(enrollment);
+        eventService.checkInEnrollment(event, enrollment);
 
         return "redirect:/study/" + study.getEncodePath() + "/events/" + event.getId();
     }
@@ -187,8 +196,18 @@ public class EventController {
     public String CancelCheckInEnrollment(@CurrentUser Account account, @PathVariable("eventId") Event event, @PathVariable("enrollmentId") Enrollment enrollment,
                                     @PathVariable String path) {
         Study study = studyService.getStudyToUpdate(account, path);
-        eventService.cancelCheckInEnrollment(enrollment);
+        eventService.cancelCheckInEnrollment(event, enrollment);
 
         return "redirect:/study/" + study.getEncodePath() + "/events/" + event.getId();
     }
+
+    // 로그인한 사람의 신청 상태를 쿼리 한번으로 읽어서 모임 id 로 찾을 수 있게 넘김
+    private Map<Long, EnrollmentState> myEnrollments(Account account, List<Event> events) {
+        if (account == null || events.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> eventIds = events.stream().map(Event::getId).collect(Collectors.toList());
+        return enrollmentRepository.findStates(eventIds, account.getId()).stream()
+                .collect(Collectors.toMap(EnrollmentState::getEventId, Function.identity()));
+    }
 }
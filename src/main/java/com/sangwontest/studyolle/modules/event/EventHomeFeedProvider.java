@@ -0,0 +1,25 @@
+package com.sangwontest.studyolle.modules.event;
+
+import com.sangwontest.studyolle.modules.main.HomeFeedProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//홈 화면의 내가 참여한 스터디의 다가오는 모임 목록
+@Component
+@RequiredArgsConstructor
+public class EventHomeFeedProvider implements HomeFeedProvider {
+
+    private final EventService eventService;
+
+    @Override
+    public String getAttributeName() {
+        return "eventList";
+    }
+
+    @Override
+    public List<UpcomingEvent> getFeed(Long accountId) {
+        return eventService.getUpcomingEvents(accountId);
+    }
+}
@@ -1,17 +1,43 @@
 package com.sangwontest.studyolle.modules.event;
 
 
-import com.sangwontest.studyolle.modules.study.Study;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Transactional(readOnly = true)
 public interface EventRepository extends JpaRepository<Event, Long> {
 
-    @EntityGraph(value = "Event.withEnrollments", type = EntityGraph.EntityGraphType.LOAD)
-    List<Event> findByStudyOrderByStartDateTime(Study study);
+    // 목록은 신청 수 카운터만 쓰므로 신청 목록(enrollments)을 같이 읽지 않음
+    List<Event> findByStudyIdOrderByStartDateTime(Long studyId);
+
+    // 참가 신청, 취소는 모임 행을 잠그고 처리함 (select ... for update)
+    // 정원을 확인하고 넣는 사이에 같은 모임의 다른 신청이 끼어들지 못하고, 다른 모임의 신청은 서로 기다리지 않음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findWithLockById(@Param("id") Long id);
+
+    // 읽고 더해서 쓰지 않고 DB 에서 바로 증감 -> 관리자 확정, 체크인처럼 모임 락을 잡지 않는 변경과 섞여도 값을 잃어버리지 않음
+    @Modifying
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + :accepted, e.waitingCount = e.waitingCount + :waiting, " +
+            "e.attendedCount = e.attendedCount + :attended where e.id = :eventId")
+    void updateEnrollmentCounts(@Param("eventId") Long eventId, @Param("accepted") int accepted,
+                                @Param("waiting") int waiting, @Param("attended") int attended);
+
+    // 내가 구성원인 스터디의 아직 시작하지 않은 모임, 화면에 필요한 컬럼만 가져옴
+    @Query("select e.id as id, e.title as title, e.startDateTime as startDateTime, s.path as studyPath, s.title as studyTitle " +
+            "from Event e join e.study s join s.members m " +
+            "where m.id = :accountId and e.startDateTime > :now order by e.startDateTime")
+    List<UpcomingEvent> findUpcomingEvents(@Param("accountId") Long accountId, @Param("now") LocalDateTime now, Pageable pageable);
 
 }
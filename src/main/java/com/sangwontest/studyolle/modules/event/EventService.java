@@ -1,14 +1,25 @@
 package com.sangwontest.studyolle.modules.event;
 
+import com.sangwontest.studyolle.infra.retry.RetryOnConflict;
 import com.sangwontest.studyolle.modules.account.Account;
 import com.sangwontest.studyolle.modules.event.form.EventForm;
 import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyActivityEvent;
+import com.sangwontest.studyolle.modules.study.StudyActivityType;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,6 +29,16 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final StudyRepository studyRepository;
+    private final EventStatRepository eventStatRepository;
+    private final EnrollmentPromotionRepository enrollmentPromotionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public List<UpcomingEvent> getUpcomingEvents(Long accountId) {
+        return eventRepository.findUpcomingEvents(accountId, LocalDateTime.now(), PageRequest.of(0, 5));
+    }
 
     public Event createEvent(EventForm eventForm, Study study, Account account) {
         log.info(eventForm.getEventType().toString());
@@ -34,52 +55,139 @@ public class EventService {
                 .study(study)
                 .build();
 
+        study.addEvent();
+        studyRepository.updateEventCount(study.getId(), 1);
 
         return eventRepository.save(event);
     }
 
+    // 컨트롤러에서 락 없이 읽은 event 는 같은 영속성 컨텍스트에 남아있어서 findWithLockById 로 잠가도 값을 다시 읽지 않음
+    // 그 사이에 커밋된 신청이 있으면 예전 lastEnrollmentPosition 을 덮어써서 같은 신청 순서가 나오므로, 잠그면서 다시 읽은 엔티티에 폼을 반영함
     public void updateEvent(Event event, EventForm eventForm) {
-        event.updateEvent(eventForm);
-        event.acceptWaitingList(); // 기다리는 리스트를 추가함 늘어난 숫자만큼 자동으로 늘려줌
+        Event locked = eventRepository.findById(event.getId()).orElseThrow();
+        entityManager.refresh(locked, LockModeType.PESSIMISTIC_WRITE); // 대기자를 확정하는 동안 신청이 끼어들지 않도록
+        locked.updateEvent(eventForm);
+        // 기다리는 리스트를 추가함 늘어난 숫자만큼 자동으로 늘려줌
+        acceptWaitingEnrollments(locked, locked.getAcceptedCount(), PromotionReason.LIMIT_INCREASED);
     }
 
     public void deleteEvent(Event event) {
         eventRepository.delete(event);
+        eventStatRepository.deleteByEventId(event.getId());
+        event.getStudy().removeEvent();
+        studyRepository.updateEventCount(event.getStudy().getId(), -1);
     }
 
-    public void newEnrollment(Event event, Account account) {
-        if (!enrollmentRepository.existsByEventAndAccount(event, account)) {
-            Enrollment enrollment = new Enrollment();
-            enrollment.newEnrollment(LocalDateTime.now(), event.isAbleToAcceptWaitingEnrollment(), account); // setAccepted의 값을 그때 상황에 맞게 바꿔주는 것이 isabletoaccept~~이다.
-            event.addEnrollment(enrollment);
-            enrollmentRepository.save(enrollment);
+    // 선착순 모임은 신청이 한꺼번에 몰리면 확정 인원을 세고 넣는 사이에 다른 신청이 끼어들어 정원을 넘김
+    // 모임 행을 잠가서 같은 모임의 신청은 한명씩 처리하고, 확정 인원은 잠근 뒤에 읽은 모임 행의 카운터로 확인함
+    // 락을 기다리다 실패하면 @RetryOnConflict 가 트랜잭션을 다시 시작하므로 엔티티 대신 id 를 받음
+    @RetryOnConflict
+    public void newEnrollment(Long eventId, Account account) {
+        Event event = eventRepository.findWithLockById(eventId).orElseThrow();
+        if (enrollmentRepository.existsByEventAndAccount(event, account)) {
+            return;
         }
+        boolean accepted = event.spotsToAccept(event.getAcceptedCount()) > 0;
+        Enrollment enrollment = Enrollment.builder()
+                .event(event)
+                .account(account)
+                .enrolledAt(LocalDateTime.now())
+                .position(event.nextEnrollmentPosition())
+                .accepted(accepted)
+                .build();
+        enrollmentRepository.save(enrollment);
+        updateEnrollmentCounts(event, accepted ? 1 : 0, accepted ? 0 : 1, 0);
+        eventPublisher.publishEvent(new StudyActivityEvent(event.getStudy().getId(), StudyActivityType.ENROLLMENT, enrollment.getEnrolledAt()));
     }
 
-    public void cancelEnrollment(Event event, Account account) {
+    // 취소하면서 대기자를 확정하는 것도 정원을 바꾸므로 같은 락을 잡음
+    @RetryOnConflict
+    public void cancelEnrollment(Long eventId, Account account) {
+        Event event = eventRepository.findWithLockById(eventId).orElseThrow();
         Enrollment enrollment = enrollmentRepository.findByEventAndAccount(event, account);
+        if (enrollment == null) {
+            return;
+        }
         if (!enrollment.isAttended()) {
-            event.removeEnrollment(enrollment); // 관계를 끊어준다
             enrollmentRepository.delete(enrollment);
+            if (enrollment.isAccepted()) {
+                updateEnrollmentCounts(event, -1, 0, 0);
+                acceptWaitingEnrollments(event, event.getAcceptedCount(), PromotionReason.CANCELLATION);
+            } else {
+                updateEnrollmentCounts(event, 0, -1, 0);
+            }
+        }
+    }
 
-            event.acceptNextWaitingEnrollment();
+    // 빈 자리만큼 대기 순서대로 확정함. 모임 행을 잠근 상태에서만 부름
+    // 대기자는 인덱스 순서로 필요한 만큼만 읽고 update 한번으로 확정한 뒤, 확정한 순서를 EnrollmentPromotion 에 남김
+    private void acceptWaitingEnrollments(Event event, long acceptedCount, PromotionReason reason) {
+        int spots = event.spotsToAccept(acceptedCount);
+        if (spots == 0) {
+            return;
+        }
+        List<WaitingEnrollment> waiting = enrollmentRepository.findWaitingEnrollments(event, PageRequest.of(0, spots));
+        if (waiting.isEmpty()) {
+            return;
         }
+        EnrollmentAcceptedEvent acceptedEvent = EnrollmentAcceptedEvent.of(event,
+                waiting.stream().map(WaitingEnrollment::getAccountId).collect(Collectors.toList()));
+        // 확정 순서 번호는 acceptAll 이 영속성 컨텍스트를 비우기 전에 매김 (그 전에 바뀐 모임 행은 update 전에 flush 됨)
+        LocalDateTime now = LocalDateTime.now();
+        List<EnrollmentPromotion> promotions = waiting.stream()
+                .map(enrollment -> new EnrollmentPromotion(event.getId(), event.nextPromotionSequence(), enrollment, reason, now))
+                .collect(Collectors.toList());
+
+        enrollmentRepository.acceptAll(waiting.stream().map(WaitingEnrollment::getId).collect(Collectors.toList()));
+        updateEnrollmentCounts(event, waiting.size(), -waiting.size(), 0);
+        enrollmentPromotionRepository.saveAll(promotions);
+        eventPublisher.publishEvent(acceptedEvent);
     }
 
+    // 관리자 확인 모임. 정원을 확인하고 확정하는 사이에 다른 확정이 끼어들지 않도록 모임 행을 잠금
+    // 신청은 상태가 실제로 바뀐 경우에만 카운터를 고침 (같은 링크를 두번 눌러도 한번만 셈)
     public void acceptEnrollment(Event event, Enrollment enrollment) {
-        event.accept(enrollment);
+        if (event.getEventType() != EventType.CONFIRMATIVE) {
+            return;
+        }
+        eventRepository.findWithLockById(event.getId());
+        if (enrollmentRepository.countByEventAndAcceptedTrue(event) >= event.getLimitOfEnrollment()) {
+            return;
+        }
+        if (enrollmentRepository.updateAccepted(event, enrollment.getId(), true) == 1) {
+            updateEnrollmentCounts(event, 1, -1, 0);
+            eventPublisher.publishEvent(EnrollmentAcceptedEvent.of(event, List.of(enrollment.getAccount().getId())));
+        }
     }
 
     public void rejectEnrollment(Event event, Enrollment enrollment) {
-        event.reject(enrollment);
+        if (event.getEventType() != EventType.CONFIRMATIVE) {
+            return;
+        }
+        if (enrollmentRepository.updateAccepted(event, enrollment.getId(), false) == 1) {
+            updateEnrollmentCounts(event, -1, 1, 0);
+            publishEnrollmentEvent(event, enrollment, "참가 신청이 거절되었습니다.");
+        }
+    }
+
+    private void publishEnrollmentEvent(Event event, Enrollment enrollment, String message) {
+        eventPublisher.publishEvent(new EnrollmentEvent(event.getId(), enrollment.getAccount().getId(), message));
     }
 
+    public void checkInEnrollment(Event event, Enrollment enrollment) {
+        if (enrollmentRepository.updateAttended(event, enrollment.getId(), true) == 1) {
+            updateEnrollmentCounts(event, 0, 0, 1);
+        }
+    }
 
-    public void checkInEnrollment(Enrollment enrollment) {
-        enrollment.setAttended(true);
+    public void cancelCheckInEnrollment(Event event, Enrollment enrollment) {
+        if (enrollmentRepository.updateAttended(event, enrollment.getId(), false) == 1) {
+            updateEnrollmentCounts(event, 0, 0, -1);
+        }
     }
 
-    public void cancelCheckInEnrollment(Enrollment enrollment) {
-        enrollment.setAttended(false);
+    private void updateEnrollmentCounts(Event event, int accepted, int waiting, int attended) {
+        eventRepository.updateEnrollmentCounts(event.getId(), accepted, waiting, attended);
+        event.enrollmentCountsChanged(accepted, waiting, attended);
     }
 }
@@ -0,0 +1,46 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//모임별 참가 신청, 확정, 출석 집계. 매일 밤 EventStatScheduler 가 Enrollment 를 모임 단위로 세서 덮어씀
+@Table(indexes = @Index(name = "idx_event_stat_study", columnList = "studyId"))
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EventStat {
+
+    @Id
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long studyId;
+
+    private long enrollments;
+
+    private long accepted;
+
+    private long attended;
+
+    private LocalDateTime updatedDateTime;
+
+    public EventStat(Long eventId, Long studyId) {
+        this.eventId = eventId;
+        this.studyId = studyId;
+    }
+
+    public void update(EventStatRow row, LocalDateTime now) {
+        this.enrollments = row.getEnrollments();
+        this.accepted = row.getAccepted();
+        this.attended = row.getAttended();
+        this.updatedDateTime = now;
+    }
+}
@@ -0,0 +1,33 @@
+package com.sangwontest.studyolle.modules.event;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface EventStatRepository extends JpaRepository<EventStat, Long> {
+
+    // 집계할 모임. 끝난지 오래된 모임은 더 바뀌지 않으므로 since 이후에 끝나는 모임만 id 순서로 size 개씩
+    @Query("select e.id from Event e where e.endDateTime >= :since and e.id > :afterId order by e.id")
+    List<Long> findEventIdsToAggregate(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.sangwontest.studyolle.modules.event.EventStatRow(e.id, e.study.id, count(en.id), " +
+            "sum(case when en.accepted = true then 1 else 0 end), sum(case when en.attended = true then 1 else 0 end)) " +
+            "from Event e left join e.enrollments en where e.id in :eventIds group by e.id, e.study.id")
+    List<EventStatRow> aggregate(@Param("eventIds") List<Long> eventIds);
+
+    @Query("select new com.sangwontest.studyolle.modules.event.EventStatView(e.id, e.title, e.startDateTime, " +
+            "s.enrollments, s.accepted, s.attended, s.updatedDateTime) " +
+            "from EventStat s, Event e where e.id = s.eventId and s.studyId = :studyId order by e.startDateTime desc")
+    List<EventStatView> findEventStatViews(@Param("studyId") Long studyId);
+
+    @Modifying
+    @Query("delete from EventStat s where s.eventId = :eventId")
+    void deleteByEventId(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,22 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.Getter;
+
+//모임 하나의 Enrollment 를 센 값 (집계 배치에서만 씀)
+@Getter
+public class EventStatRow {
+
+    private final Long eventId;
+    private final Long studyId;
+    private final long enrollments;
+    private final long accepted;
+    private final long attended;
+
+    public EventStatRow(Long eventId, Long studyId, Long enrollments, Long accepted, Long attended) {
+        this.eventId = eventId;
+        this.studyId = studyId;
+        this.enrollments = enrollments == null ? 0 : enrollments;
+        this.accepted = accepted == null ? 0 : accepted;
+        this.attended = attended == null ? 0 : attended;
+    }
+}
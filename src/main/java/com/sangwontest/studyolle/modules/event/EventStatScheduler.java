@@ -0,0 +1,30 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+//매일 새벽 최근 모임의 참가 신청, 출석 집계를 다시 계산 (통계 화면은 집계 결과만 읽음)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventStatScheduler {
+
+    private final EventStatService eventStatService;
+
+    @Scheduled(cron = "0 30 4 * * *")
+    public void aggregateEventStats() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minusDays(EventStatService.AGGREGATE_DAYS);
+        int chunks = 0;
+        Long afterId = 0L;
+        while (afterId != null) {
+            afterId = eventStatService.aggregate(since, afterId, EventStatService.CHUNK_SIZE, now);
+            chunks++;
+        }
+        log.info("aggregated event stats in {} chunks", chunks);
+    }
+}
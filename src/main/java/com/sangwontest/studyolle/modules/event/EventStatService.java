@@ -0,0 +1,49 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class EventStatService {
+
+    public static final int CHUNK_SIZE = 100;
+    public static final int AGGREGATE_DAYS = 7; // 끝난 뒤에도 이 기간 동안은 출석 체크가 바뀔 수 있음
+
+    private final EventStatRepository eventStatRepository;
+
+    /*
+    since 이후에 끝나는 모임 size 개를 골라 group by 한번으로 세고 EventStat 에 덮어씀
+    마지막 모임 id 를 돌려주고 더 없으면 null. 묶음마다 트랜잭션이 끝나서 배치 전체가 한 트랜잭션을 잡고 있지 않음
+     */
+    public Long aggregate(LocalDateTime since, Long afterId, int size, LocalDateTime now) {
+        List<Long> eventIds = eventStatRepository.findEventIdsToAggregate(since, afterId, PageRequest.of(0, size));
+        if (eventIds.isEmpty()) {
+            return null;
+        }
+        Map<Long, EventStat> stats = eventStatRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(EventStat::getEventId, Function.identity()));
+        for (EventStatRow row : eventStatRepository.aggregate(eventIds)) {
+            EventStat stat = stats.get(row.getEventId());
+            if (stat == null) {
+                stat = eventStatRepository.save(new EventStat(row.getEventId(), row.getStudyId()));
+            }
+            stat.update(row, now);
+        }
+        return eventIds.size() < size ? null : eventIds.get(eventIds.size() - 1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventStatView> getEventStats(Long studyId) {
+        return eventStatRepository.findEventStatViews(studyId);
+    }
+}
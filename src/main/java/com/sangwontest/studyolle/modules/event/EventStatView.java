@@ -0,0 +1,34 @@
+package com.sangwontest.studyolle.modules.event;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+//통계 화면의 모임 한 줄. EventStat 과 모임 제목만 읽음
+@Getter
+public class EventStatView {
+
+    private final Long eventId;
+    private final String title;
+    private final LocalDateTime startDateTime;
+    private final long enrollments;
+    private final long accepted;
+    private final long attended;
+    private final LocalDateTime updatedDateTime;
+
+    public EventStatView(Long eventId, String title, LocalDateTime startDateTime, long enrollments, long accepted,
+                         long attended, LocalDateTime updatedDateTime) {
+        this.eventId = eventId;
+        this.title = title;
+        this.startDateTime = startDateTime;
+        this.enrollments = enrollments;
+        this.accepted = accepted;
+        this.attended = attended;
+        this.updatedDateTime = updatedDateTime;
+    }
+
+    // 확정된 인원 중 출석한 비율 (%)
+    public long getAttendanceRate() {
+        return accepted == 0 ? 0 : Math.round(attended * 100.0 / accepted);
+    }
+}
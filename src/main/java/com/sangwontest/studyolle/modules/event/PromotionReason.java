@@ -0,0 +1,9 @@
+package com.sangwontest.studyolle.modules.event;
+
+//대기자가 확정된 이유
+public enum PromotionReason {
+
+    CANCELLATION, // 확정된 사람이 취소함
+
+    LIMIT_INCREASED // 관리자가 정원을 늘림
+}
@@ -0,0 +1,43 @@
+package com.sangwontest.studyolle.modules.event;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.CurrentUser;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyDailyStat;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.study.StudyStatService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//스터디 통계. 모임 통계가 필요해서 event 모듈에 둠 (study 모듈은 event 를 모름)
+//가입, 참가 신청 원본 행은 읽지 않고 집계 테이블(StudyDailyStat, EventStat) 만 읽음
+@Controller
+@RequestMapping("/study/{path}/settings")
+@RequiredArgsConstructor
+public class StudyStatsController {
+
+    private final StudyService studyService;
+    private final StudyStatService studyStatService;
+    private final EventStatService eventStatService;
+
+    @GetMapping("/stats")
+    public String studyStats(@CurrentUser Account account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdate(account, path);
+        List<StudyDailyStat> dailyStats = studyStatService.getDailyStats(study.getId(), LocalDate.now());
+        model.addAttribute(account);
+        model.addAttribute(study);
+        model.addAttribute("dailyStats", dailyStats);
+        model.addAttribute("totalJoins", dailyStats.stream().mapToInt(StudyDailyStat::getJoins).sum());
+        model.addAttribute("totalLeaves", dailyStats.stream().mapToInt(StudyDailyStat::getLeaves).sum());
+        model.addAttribute("totalEnrollments", dailyStats.stream().mapToInt(StudyDailyStat::getEnrollments).sum());
+        model.addAttribute("eventStats", eventStatService.getEventStats(study.getId()));
+        return "study/settings/stats";
+    }
+}
@@ -0,0 +1,17 @@
+package com.sangwontest.studyolle.modules.event;
+
+import java.time.LocalDateTime;
+
+//홈 화면에 보여줄 내가 참여한 스터디의 다가오는 모임
+public interface UpcomingEvent {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getStartDateTime();
+
+    String getStudyPath();
+
+    String getStudyTitle();
+}
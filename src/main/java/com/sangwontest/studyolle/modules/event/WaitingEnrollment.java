@@ -0,0 +1,11 @@
+package com.sangwontest.studyolle.modules.event;
+
+//확정할 대기자. 알림을 보낼 계정 id 와 신청 순서만 같이 읽음
+public interface WaitingEnrollment {
+
+    Long getId();
+
+    Long getAccountId();
+
+    int getPosition();
+}
@@ -0,0 +1,44 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+//모임은 참가 신청 없이 모임 정보만 옮김
+@Data
+public class EventRecord {
+
+    private String title;
+
+    private String description;
+
+    private EventType eventType;
+
+    private String createdBy; // 만든 사람의 이메일
+
+    private LocalDateTime createdDateTime;
+
+    private LocalDateTime endEnrollmentDateTime;
+
+    private LocalDateTime startDateTime;
+
+    private LocalDateTime endDateTime;
+
+    private Integer limitOfEnrollment;
+
+    public static EventRecord from(Event event) {
+        EventRecord record = new EventRecord();
+        record.setTitle(event.getTitle());
+        record.setDescription(event.getDescription());
+        record.setEventType(event.getEventType());
+        record.setCreatedBy(event.getCreatedBy() == null ? null : event.getCreatedBy().getEmail());
+        record.setCreatedDateTime(event.getCreatedDateTime());
+        record.setEndEnrollmentDateTime(event.getEndEnrollmentDateTime());
+        record.setStartDateTime(event.getStartDateTime());
+        record.setEndDateTime(event.getEndDateTime());
+        record.setLimitOfEnrollment(event.getLimitOfEnrollment());
+        return record;
+    }
+}
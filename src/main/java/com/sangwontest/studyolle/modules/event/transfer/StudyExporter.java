@@ -0,0 +1,85 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+모든 스터디를 태그, 지역, 관리자, 구성원, 모임과 함께 NDJSON (한 줄에 스터디 하나) 으로 내보냄
+- 스터디는 id 순으로 100개씩 keyset 으로 읽고, 연관관계를 컬렉션마다 한번씩 fetch join 함 -> 스터디 수와 상관없이 묶음당 쿼리 수가 일정
+  스트리밍 커서를 열어둔 채로 다른 쿼리를 보내면 MariaDB 드라이버가 남은 결과를 전부 메모리에 올리므로 커서를 쓰지 않음
+- 묶음을 쓰고 나면 EntityManager 를 비워서 지금까지 읽은 엔티티가 영속성 컨텍스트에 쌓이지 않게 함 -> 메모리는 묶음 하나 크기로 유지
+ */
+@Service
+@RequiredArgsConstructor
+public class StudyExporter {
+
+    static final int CHUNK_SIZE = 100;
+
+    private final StudyRepository studyRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // 묶음 사이에 커서를 잡고 있지 않으므로 트랜잭션은 같은 시점의 데이터를 읽기 위해서만 유지함
+    @Transactional(readOnly = true)
+    public int export(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int count = 0;
+        Long lastId = 0L;
+        List<Study> chunk;
+        do {
+            chunk = studyRepository.findChunkAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+            count += writeChunk(chunk, writer);
+        } while (chunk.size() == CHUNK_SIZE);
+        writer.flush();
+        return count;
+    }
+
+    private int writeChunk(List<Study> chunk, Writer writer) throws IOException {
+        fetch("select distinct s from Study s left join fetch s.description where s in :studies", chunk);
+        fetch("select distinct s from Study s left join fetch s.tags where s in :studies", chunk);
+        fetch("select distinct s from Study s left join fetch s.zones where s in :studies", chunk);
+        fetch("select distinct s from Study s left join fetch s.managers where s in :studies", chunk);
+        fetch("select distinct s from Study s left join fetch s.members where s in :studies", chunk);
+        Map<Long, List<Event>> events = entityManager.createQuery(
+                        "select e from Event e left join fetch e.createdBy where e.study in :studies order by e.id", Event.class)
+                .setParameter("studies", chunk)
+                .getResultList().stream()
+                .collect(Collectors.groupingBy(event -> event.getStudy().getId()));
+
+        for (Study study : chunk) {
+            writer.write(objectMapper.writeValueAsString(StudyRecord.from(study, events.getOrDefault(study.getId(), List.of()))));
+            writer.write('\n');
+        }
+        writer.flush(); // 묶음마다 내보내서 클라이언트가 바로 받기 시작하게 함
+
+        entityManager.clear();
+        return chunk.size();
+    }
+
+    private void fetch(String query, List<Study> studies) {
+        entityManager.createQuery(query, Study.class)
+                .setParameter("studies", studies)
+                .getResultList();
+    }
+}
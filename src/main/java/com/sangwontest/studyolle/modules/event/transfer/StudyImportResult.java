@@ -0,0 +1,25 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import lombok.Getter;
+
+@Getter
+public class StudyImportResult {
+
+    private int imported;
+
+    private int skipped; // 이미 있는 경로이거나 관리자 계정을 찾지 못한 스터디
+
+    private int unknownAccounts; // 이 DB 에 없어서 빼고 넣은 관리자, 구성원 이메일 수
+
+    void imported() {
+        imported++;
+    }
+
+    void skipped() {
+        skipped++;
+    }
+
+    void unknownAccount() {
+        unknownAccounts++;
+    }
+}
@@ -0,0 +1,148 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyPathAliasRepository;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.search.StudyIndexEvent;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//가져오기 한 묶음을 트랜잭션 하나로 넣음. insert 는 JDBC batch 로 묶어서 보내고, 끝나면 영속성 컨텍스트를 비움
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StudyImportWriter {
+
+    private final StudyRepository studyRepository;
+    private final StudyPathAliasRepository studyPathAliasRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void write(List<StudyRecord> records, Map<String, Tags> tags, Map<String, Zones> zones, StudyImportResult result) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(StudyImporter.CHUNK_SIZE);
+
+        Set<String> paths = records.stream().map(StudyRecord::getPath).collect(Collectors.toSet());
+        Set<String> takenPaths = new HashSet<>(studyRepository.findPathsIn(paths));
+        takenPaths.addAll(studyPathAliasRepository.findPathsIn(paths)); // 예전 경로로 들어오는 링크를 가로채지 않도록
+        Map<String, Account> accounts = accountRepository.findByEmailIn(emailsOf(records)).stream()
+                .collect(Collectors.toMap(Account::getEmail, Function.identity()));
+
+        List<Long> publishedIds = new ArrayList<>();
+        for (StudyRecord record : records) {
+            if (takenPaths.contains(record.getPath())) {
+                result.skipped();
+                continue;
+            }
+            List<Account> managers = accountsOf(record.getManagers(), accounts, result);
+            if (managers.isEmpty()) { // 관리자가 없으면 아무도 설정을 바꿀 수 없음
+                result.skipped();
+                continue;
+            }
+            takenPaths.add(record.getPath());
+
+            Study study = newStudy(record, managers, accounts, tags, zones, result);
+            if (study.isPublished()) {
+                publishedIds.add(study.getId());
+            }
+            result.imported();
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        studyRepository.findPublishedDocuments(publishedIds)
+                .forEach(document -> eventPublisher.publishEvent(new StudyIndexEvent(document.getId(), document)));
+    }
+
+    // 카운터 컬럼은 update 되지 않으므로 (updatable = false) persist 전에 관리자, 구성원, 모임을 모두 붙여서 insert 에 담음
+    private Study newStudy(StudyRecord record, List<Account> managers, Map<String, Account> accounts,
+                           Map<String, Tags> tags, Map<String, Zones> zones, StudyImportResult result) {
+        Study study = Study.builder()
+                .path(record.getPath())
+                .title(record.getTitle())
+                .shortDescription(record.getShortDescription())
+                .fullDescription(record.getFullDescription())
+                .published(record.isPublished())
+                .recruiting(record.isRecruiting())
+                .closed(record.isClosed())
+                .publishedDatetime(record.getPublishedDatetime())
+                .closeDateTime(record.getCloseDateTime())
+                .recruitingUpdateDateTime(record.getRecruitingUpdateDateTime())
+                .build();
+        managers.forEach(study::addManager);
+        accountsOf(record.getMembers(), accounts, result).forEach(study::addMember);
+        record.getTags().forEach(title -> study.getTags().add(tags.computeIfAbsent(title, this::newTag)));
+        record.getZones().stream()
+                .map(zone -> zones.get(zone.key()))
+                .filter(Objects::nonNull)
+                .forEach(study.getZones()::add);
+        record.getEvents().forEach(event -> study.addEvent());
+        entityManager.persist(study);
+
+        for (EventRecord eventRecord : record.getEvents()) {
+            entityManager.persist(Event.builder()
+                    .study(study)
+                    .createdBy(accounts.getOrDefault(eventRecord.getCreatedBy(), managers.get(0)))
+                    .title(eventRecord.getTitle())
+                    .description(eventRecord.getDescription())
+                    .eventType(eventRecord.getEventType())
+                    .createdDateTime(eventRecord.getCreatedDateTime())
+                    .endEnrollmentDateTime(eventRecord.getEndEnrollmentDateTime())
+                    .startDateTime(eventRecord.getStartDateTime())
+                    .endDateTime(eventRecord.getEndDateTime())
+                    .limitOfEnrollment(eventRecord.getLimitOfEnrollment())
+                    .build());
+        }
+        return study;
+    }
+
+    private Tags newTag(String title) {
+        Tags tag = Tags.builder().title(title).build();
+        entityManager.persist(tag);
+        return tag;
+    }
+
+    private List<Account> accountsOf(List<String> emails, Map<String, Account> accounts, StudyImportResult result) {
+        List<Account> found = new ArrayList<>();
+        for (String email : emails) {
+            Account account = accounts.get(email);
+            if (account == null) {
+                result.unknownAccount();
+            } else {
+                found.add(account);
+            }
+        }
+        return found;
+    }
+
+    private Set<String> emailsOf(List<StudyRecord> records) {
+        Set<String> emails = new HashSet<>();
+        for (StudyRecord record : records) {
+            emails.addAll(record.getManagers());
+            emails.addAll(record.getMembers());
+            record.getEvents().stream()
+                    .map(EventRecord::getCreatedBy)
+                    .filter(Objects::nonNull)
+                    .forEach(emails::add);
+        }
+        return emails;
+    }
+}
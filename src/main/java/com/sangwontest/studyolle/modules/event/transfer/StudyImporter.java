@@ -0,0 +1,92 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
+import com.sangwontest.studyolle.modules.zone.ZoneRepository;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+StudyExporter 가 만든 NDJSON 을 읽어서 스터디를 넣음
+- 한 줄씩 읽어서 100개씩 StudyImportWriter 로 넘김. 묶음마다 트랜잭션이 따로라서 중간에 실패해도 앞의 묶음은 남음
+- 태그, 지역은 처음에 한번 전부 읽어서 이름 -> 엔티티 맵으로 찾음 (스터디마다 조회하지 않음). 없는 태그는 만들어서 맵에 넣음
+  묶음이 롤백되면 그 묶음에서 만든 태그는 저장되지 않았으므로 태그 맵을 DB 에서 다시 읽음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyImporter {
+
+    static final int CHUNK_SIZE = 100;
+
+    private final StudyImportWriter studyImportWriter;
+    private final TagsRepository tagsRepository;
+    private final ZoneRepository zoneRepository;
+    private final ObjectMapper objectMapper;
+
+    public StudyImportResult importStudies(InputStream in) throws IOException {
+        Map<String, Tags> tags = new HashMap<>();
+        loadTags(tags);
+        Map<String, Zones> zones = new HashMap<>();
+        zoneRepository.findAll().forEach(zone -> zones.put(ZoneRecord.from(zone).key(), zone));
+
+        StudyImportResult result = new StudyImportResult();
+        List<StudyRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(read(line, lineNumber));
+            if (chunk.size() == CHUNK_SIZE) {
+                write(chunk, tags, zones, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, tags, zones, result);
+        }
+
+        log.info("study import : {} imported, {} skipped", result.getImported(), result.getSkipped());
+        return result;
+    }
+
+    private void write(List<StudyRecord> chunk, Map<String, Tags> tags, Map<String, Zones> zones, StudyImportResult result) {
+        try {
+            studyImportWriter.write(chunk, tags, zones, result);
+        } catch (RuntimeException e) {
+            loadTags(tags);
+            throw e;
+        }
+    }
+
+    private void loadTags(Map<String, Tags> tags) {
+        tags.clear();
+        tagsRepository.findAll().forEach(tag -> tags.put(tag.getTitle(), tag));
+    }
+
+    private StudyRecord read(String line, int lineNumber) {
+        try {
+            return objectMapper.readValue(line, StudyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(lineNumber + "번째 줄을 읽을 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.study.Study;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+//NDJSON 한 줄 = 스터디 한 건. 계정은 이메일로, 태그는 이름으로, 지역은 (city, province) 로 참조해서 다른 DB 에도 넣을 수 있게 함
+//배너 이미지는 이미지 저장소의 해시라서 옮기지 않음
+@Data
+public class StudyRecord {
+
+    private String path;
+
+    private String title;
+
+    private String shortDescription;
+
+    private String fullDescription;
+
+    private boolean published;
+
+    private boolean recruiting;
+
+    private boolean closed;
+
+    private LocalDateTime publishedDatetime;
+
+    private LocalDateTime closeDateTime;
+
+    private LocalDateTime recruitingUpdateDateTime;
+
+    private List<String> managers = new ArrayList<>();
+
+    private List<String> members = new ArrayList<>();
+
+    private List<String> tags = new ArrayList<>();
+
+    private List<ZoneRecord> zones = new ArrayList<>();
+
+    private List<EventRecord> events = new ArrayList<>();
+
+    public static StudyRecord from(Study study, List<Event> events) {
+        StudyRecord record = new StudyRecord();
+        record.setPath(study.getPath());
+        record.setTitle(study.getTitle());
+        record.setShortDescription(study.getShortDescription());
+        record.setFullDescription(study.getFullDescription());
+        record.setPublished(study.isPublished());
+        record.setRecruiting(study.isRecruiting());
+        record.setClosed(study.isClosed());
+        record.setPublishedDatetime(study.getPublishedDatetime());
+        record.setCloseDateTime(study.getCloseDateTime());
+        record.setRecruitingUpdateDateTime(study.getRecruitingUpdateDateTime());
+        record.setManagers(study.getManagers().stream().map(Account::getEmail).sorted().collect(Collectors.toList()));
+        record.setMembers(study.getMembers().stream().map(Account::getEmail).sorted().collect(Collectors.toList()));
+        record.setTags(study.getTags().stream().map(Tags::getTitle).sorted().collect(Collectors.toList()));
+        record.setZones(study.getZones().stream().map(ZoneRecord::from).collect(Collectors.toList()));
+        record.setEvents(events.stream().map(EventRecord::from).collect(Collectors.toList()));
+        return record;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+//스터디 전체 내보내기, 가져오기 (관리자만. SecurityConfig 에서 /admin/** 를 ROLE_ADMIN 으로 막음)
+@Controller
+@RequestMapping("/admin/studies")
+@RequiredArgsConstructor
+public class StudyTransferController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final StudyExporter studyExporter;
+    private final StudyImporter studyImporter;
+
+    // 응답을 메모리에 만들지 않고 읽는 대로 바로 씀
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudies() {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"studies.ndjson\"")
+                .body(studyExporter::export);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<Object> importStudies(@RequestParam MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(studyImporter.importStudies(in));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sangwontest.studyolle.modules.event.transfer;
+
+import com.sangwontest.studyolle.modules.zone.Zones;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//지역은 미리 넣어둔 목록(zone_kr.csv)이라 id 대신 (city, province) 로 찾음
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoneRecord {
+
+    private String city;
+
+    private String province;
+
+    public static ZoneRecord from(Zones zone) {
+        return new ZoneRecord(zone.getCity(), zone.getProvince());
+    }
+
+    public String key() {
+        return city + "/" + province;
+    }
+}
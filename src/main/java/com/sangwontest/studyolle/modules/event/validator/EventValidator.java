@@ -29,7 +29,7 @@ public class EventValidator implements Validator {
     }
 
     public void validateUpdateForm(EventForm eventForm, Errors errors, Event event) {
-        if (eventForm.getLimitOfEnrollments() < event.getNumberOfAcceptedEnrollments()) {
+        if (eventForm.getLimitOfEnrollments() < event.getAcceptedCount()) {
             errors.rejectValue("limitOfEnrollments", "wrong.value", "확인 된 참가 신청보다 모집 인원 수가 커야합니다.");
         }
     }
@@ -0,0 +1,13 @@
+package com.sangwontest.studyolle.modules.main;
+
+import java.util.List;
+
+//홈 화면에 보여줄 목록 하나 (추천 스터디, 다가오는 모임 ...). 각 모듈이 구현해서 빈으로 등록함
+//main 이 study, event 를 직접 부르면 event -> study 의존과 합쳐서 순환이 생기므로 (PackageDependencyTests) 구현하는 쪽이 main 을 의존함
+public interface HomeFeedProvider {
+
+    // 화면(index.html)에서 쓰는 모델 이름
+    String getAttributeName();
+
+    List<?> getFeed(Long accountId);
+}
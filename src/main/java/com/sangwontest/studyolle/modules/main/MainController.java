@@ -2,18 +2,26 @@ package com.sangwontest.studyolle.modules.main;
 
 import com.sangwontest.studyolle.modules.account.CurrentUser;
 import com.sangwontest.studyolle.modules.account.Account;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import java.util.List;
+
 @Controller
+@RequiredArgsConstructor
 public class MainController {
 
+    private final List<HomeFeedProvider> homeFeedProviders;
+
+    // 추천 스터디(studyList), 다가오는 모임(eventList) 은 각 모듈의 HomeFeedProvider 가 채워줌
     @GetMapping("/")
     public String home(@CurrentUser Account account, Model model){
 
         if (account != null){
             model.addAttribute(account);
+            homeFeedProviders.forEach(provider -> model.addAttribute(provider.getAttributeName(), provider.getFeed(account.getId())));
         }
 
         return "index";
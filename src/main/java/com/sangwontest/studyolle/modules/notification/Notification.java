@@ -0,0 +1,56 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//웹 알림. 한번에 수만 건을 넣는 경우가 있어서 계정은 연관관계 대신 id 로만 가리킴 (Account 를 읽지 않고 insert)
+//id 는 50개씩 미리 받아두는 시퀀스 -> insert 마다 시퀀스를 조회하지 않고 JDBC batch 로 묶어서 넣을 수 있음
+@Table(indexes = @Index(name = "idx_notification_account", columnList = "accountId, checked, createdDateTime"))
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    private String title;
+
+    private String link;
+
+    private String message;
+
+    private boolean checked;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType notificationType;
+
+    private LocalDateTime createdDateTime;
+
+    public Notification(Long accountId, NotificationMessage notificationMessage, LocalDateTime createdDateTime) {
+        this.accountId = accountId;
+        this.title = notificationMessage.getTitle();
+        this.link = notificationMessage.getLink();
+        this.message = notificationMessage.getMessage();
+        this.notificationType = notificationMessage.getNotificationType();
+        this.createdDateTime = createdDateTime;
+    }
+}
@@ -0,0 +1,42 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import com.sangwontest.studyolle.modules.account.CurrentUser;
+import com.sangwontest.studyolle.modules.account.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+//알림함은 세션의 UserAccount 만 쓰고 Account 엔티티는 읽지 않음
+@Controller
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    @GetMapping("/notifications")
+    public String newNotifications(@CurrentUser UserAccount userAccount, Model model) {
+        model.addAttribute("notifications", notificationService.getNotifications(userAccount.getAccountId(), false));
+        model.addAttribute("newCount", unreadNotificationCounter.count(userAccount));
+        model.addAttribute("isNew", true);
+        return "notification/list";
+    }
+
+    @GetMapping("/notifications/old")
+    public String oldNotifications(@CurrentUser UserAccount userAccount, Model model) {
+        model.addAttribute("notifications", notificationService.getNotifications(userAccount.getAccountId(), true));
+        model.addAttribute("newCount", unreadNotificationCounter.count(userAccount));
+        model.addAttribute("isNew", false);
+        return "notification/list";
+    }
+
+    @PostMapping("/notifications/read")
+    public String markAllAsRead(@CurrentUser UserAccount userAccount, RedirectAttributes attributes) {
+        int updated = notificationService.markAllAsRead(userAccount.getAccountId());
+        attributes.addFlashAttribute("message", updated + "개의 알림을 읽음으로 표시했습니다.");
+        return "redirect:/notifications";
+    }
+}
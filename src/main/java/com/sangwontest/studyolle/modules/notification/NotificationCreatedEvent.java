@@ -0,0 +1,16 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+//웹 알림을 넣은 계정들. 커밋된 뒤 NotificationPushListener 가 연결된 계정에게 바로 보냄
+@Getter
+@RequiredArgsConstructor
+public class NotificationCreatedEvent {
+
+    private final List<Long> accountIds;
+
+    private final NotificationMessage notificationMessage;
+}
@@ -0,0 +1,80 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+한 알림을 관심 있는 모든 계정에게 보냄 (새 스터디 공개, 스터디 소식, 참가 신청 확정)
+- 받을 계정을 CHUNK_SIZE 명씩 읽고, 묶음마다 웹 알림을 넣고 커밋한 뒤 이메일을 큐에 넣음
+- 전체 목록을 메모리에 올리지 않고, 트랜잭션을 끝까지 잡고 있지 않음
+- 이메일은 NotificationMailer 가 비동기 executor 에서 보냄. 큐가 차면 이 스레드가 직접 보내면서 다음 묶음을 늦춤
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationFanOut {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private final NotificationService notificationService;
+    private final NotificationMailer notificationMailer;
+
+    // 알림을 받은 계정 수
+    public int notifyStudyCreated(NotificationMessage notificationMessage, Collection<Long> tagIds, Collection<Long> zoneIds) {
+        if (tagIds.isEmpty() || zoneIds.isEmpty()) {
+            return 0;
+        }
+        return fanOut(notificationMessage,
+                afterId -> notificationService.notifyStudyCreated(notificationMessage, tagIds, zoneIds, afterId, CHUNK_SIZE));
+    }
+
+    // 스터디의 구성원, 관리자에게 (스터디 종료, 모집 시작/중지)
+    public int notifyStudyUpdated(NotificationMessage notificationMessage, Long studyId) {
+        return fanOut(notificationMessage,
+                afterId -> notificationService.notifyStudyUpdated(notificationMessage, studyId, afterId, CHUNK_SIZE));
+    }
+
+    // 받을 계정이 정해진 알림. 한 모임에서 한번에 확정되는 인원은 정원을 넘지 않으므로 묶음으로 나누지 않음
+    public int notifyEnrollmentResult(NotificationMessage notificationMessage, Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return 0;
+        }
+        List<NotificationRecipient> recipients = notificationService.notifyEnrollmentResult(notificationMessage, accountIds);
+        sendEmails(notificationMessage, recipients);
+        return recipients.size();
+    }
+
+    // 마지막으로 받은 계정 id 다음부터 한 묶음씩 웹 알림을 넣고(묶음마다 커밋) 이메일을 보냄
+    private int fanOut(NotificationMessage notificationMessage, Function<Long, List<NotificationRecipient>> nextChunk) {
+        int notified = 0;
+        Long afterId = 0L;
+        List<NotificationRecipient> recipients;
+        do {
+            recipients = nextChunk.apply(afterId);
+            if (recipients.isEmpty()) {
+                break;
+            }
+            sendEmails(notificationMessage, recipients);
+            notified += recipients.size();
+            afterId = recipients.get(recipients.size() - 1).getId();
+        } while (recipients.size() == CHUNK_SIZE);
+
+        log.info("{} notified to {} accounts : {}", notificationMessage.getNotificationType(), notified, notificationMessage.getLink());
+        return notified;
+    }
+
+    private void sendEmails(NotificationMessage notificationMessage, List<NotificationRecipient> recipients) {
+        List<NotificationRecipient> byEmail = recipients.stream()
+                .filter(NotificationRecipient::isByEmail)
+                .collect(Collectors.toList());
+        if (!byEmail.isEmpty()) {
+            notificationMailer.send(notificationMessage, byEmail);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import com.sangwontest.studyolle.infra.config.AppProperties;
+import com.sangwontest.studyolle.infra.mail.EmailMessage;
+import com.sangwontest.studyolle.infra.mail.EmailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+
+//알림 이메일. 묶음 하나를 AsyncConfig 의 executor 에서 보냄
+//한 명에게 보내다 실패해도 나머지는 계속 보냄
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationMailer {
+
+    private final EmailService emailService;
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    @Async
+    public void send(NotificationMessage notificationMessage, List<NotificationRecipient> recipients) {
+        for (NotificationRecipient recipient : recipients) {
+            Context context = new Context();
+            context.setVariable("nickname", recipient.getNickname());
+            context.setVariable("link", notificationMessage.getLink());
+            context.setVariable("linkName", notificationMessage.getTitle());
+            context.setVariable("message", notificationMessage.getMessage());
+            context.setVariable("host", appProperties.getHost());
+            String message = templateEngine.process("mail/simple-link", context);
+
+            try {
+                emailService.sendEmail(EmailMessage.builder()
+                        .to(recipient.getEmail())
+                        .subject("스터디올래, " + notificationMessage.getTitle())
+                        .message(message)
+                        .build());
+            } catch (RuntimeException e) {
+                log.warn("failed to send notification email to account {}", recipient.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//여러 계정에게 똑같이 보낼 알림 내용. 웹 알림과 이메일에 같이 씀
+@Getter
+@RequiredArgsConstructor
+public class NotificationMessage {
+
+    private final NotificationType notificationType;
+
+    private final String title;
+
+    private final String link;
+
+    private final String message;
+}
@@ -0,0 +1,26 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+//PushService.send 는 큐에 넣기만 하므로 커밋한 스레드에서 바로 호출함 (연결하지 않은 계정은 바로 돌아옴)
+@Component
+@RequiredArgsConstructor
+public class NotificationPushListener {
+
+    private final PushService pushService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleNotificationCreatedEvent(NotificationCreatedEvent notificationCreatedEvent) {
+        NotificationMessage message = notificationCreatedEvent.getNotificationMessage();
+        Map<String, String> data = Map.of(
+                "title", message.getTitle(),
+                "link", message.getLink(),
+                "message", message.getMessage() == null ? "" : message.getMessage());
+        notificationCreatedEvent.getAccountIds().forEach(accountId -> pushService.send(accountId, "notification", data));
+    }
+}
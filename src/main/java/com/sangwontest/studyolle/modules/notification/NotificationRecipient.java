@@ -0,0 +1,22 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.Getter;
+
+//알림을 받을 계정. 엔티티와 tags, zones 컬렉션을 로딩하지 않고 보내는데 필요한 값만 select new 로 가져옴
+@Getter
+public class NotificationRecipient {
+
+    private final Long id;
+    private final String email;
+    private final String nickname;
+    private final boolean byEmail;
+    private final boolean byWeb;
+
+    public NotificationRecipient(Long id, String email, String nickname, boolean emailVerified, boolean byEmail, boolean byWeb) {
+        this.id = id;
+        this.email = email;
+        this.nickname = nickname;
+        this.byEmail = byEmail && emailVerified; // 인증하지 않은 주소로는 보내지 않음
+        this.byWeb = byWeb;
+    }
+}
@@ -0,0 +1,57 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /*
+    관심 주제 중 하나, 활동 지역 중 하나가 겹치고 새 스터디 알림을 받겠다고 한 계정 (이메일은 인증한 주소만)
+    account_tags, account_zones 의 PK (account_id, ...) 로 exists 만 확인하고 account id 기준 keyset 으로 size 개씩 읽음
+    -> 대상이 10만 명이어도 한번에 size 개만 메모리에 올라오고, offset 없이 다음 묶음을 읽음
+     */
+    @Query("select new com.sangwontest.studyolle.modules.notification.NotificationRecipient(" +
+            "a.id, a.email, a.nickname, a.emailVerified, a.studyCreatedByEmail, a.studyCreatedByWeb) from Account a " +
+            "where a.id > :afterId and (a.studyCreatedByWeb = true or (a.studyCreatedByEmail = true and a.emailVerified = true)) " +
+            "and exists (select t.id from Account ta join ta.tags t where ta.id = a.id and t.id in :tagIds) " +
+            "and exists (select z.id from Account za join za.zones z where za.id = a.id and z.id in :zoneIds) " +
+            "order by a.id")
+    List<NotificationRecipient> findStudyCreatedRecipients(@Param("tagIds") Collection<Long> tagIds,
+                                                           @Param("zoneIds") Collection<Long> zoneIds,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    // 스터디 소식(종료, 모집 시작/중지)을 받을 구성원, 관리자. 조인 테이블의 PK (study_id, xxx_id) 로 exists 만 확인하고
+    // findStudyCreatedRecipients 처럼 account id 기준 keyset 으로 size 개씩 읽음
+    @Query("select new com.sangwontest.studyolle.modules.notification.NotificationRecipient(" +
+            "a.id, a.email, a.nickname, a.emailVerified, a.studyUpdateByEmail, a.studyUpdateByWeb) from Account a " +
+            "where a.id > :afterId and (a.studyUpdateByWeb = true or (a.studyUpdateByEmail = true and a.emailVerified = true)) " +
+            "and (exists (select m.id from Study s join s.members m where s.id = :studyId and m.id = a.id) " +
+            "or exists (select mg.id from Study ms join ms.managers mg where ms.id = :studyId and mg.id = a.id)) " +
+            "order by a.id")
+    List<NotificationRecipient> findStudyUpdatedRecipients(@Param("studyId") Long studyId, @Param("afterId") Long afterId,
+                                                           Pageable pageable);
+
+    // 참가 신청 결과를 받을 계정. 받을 사람이 정해져 있어서 id 로 바로 찾음
+    @Query("select new com.sangwontest.studyolle.modules.notification.NotificationRecipient(" +
+            "a.id, a.email, a.nickname, a.emailVerified, a.studyEnrollmentResultByEmail, a.studyEnrollmentResultByWeb) " +
+            "from Account a where a.id in :accountIds order by a.id")
+    List<NotificationRecipient> findEnrollmentResultRecipients(@Param("accountIds") Collection<Long> accountIds);
+
+    // (accountId, checked, createdDateTime) 인덱스로 세고, 최신순으로 읽음
+    long countByAccountIdAndCheckedFalse(Long accountId);
+
+    List<Notification> findByAccountIdAndCheckedOrderByCreatedDateTimeDescIdDesc(Long accountId, boolean checked, Pageable pageable);
+
+    // 알림을 하나씩 읽어서 바꾸지 않고 update 한번으로 모두 읽음 처리
+    @Modifying(clearAutomatically = true)
+    @Query("update Notification n set n.checked = true where n.accountId = :accountId and n.checked = false")
+    int markAllAsRead(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,102 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import com.sangwontest.studyolle.infra.retry.RetryOnFailure;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class NotificationService {
+
+    public static final int INBOX_PAGE_SIZE = 20;
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /*
+    새 스터디 알림 한 묶음. 받을 계정 size 명을 읽고 웹 알림을 넣은 뒤 커밋 -> 묶음마다 트랜잭션이 짧게 끝남
+    묶음 하나가 한 트랜잭션이라 실패해서 다시 시도해도 같은 묶음에 알림이 두번 들어가지 않음
+    이메일은 커밋된 뒤 보내야 하므로 받은 계정 목록을 돌려주고 NotificationFanOut 에서 보냄
+    커밋된 뒤의 리스너(@TransactionalEventListener AFTER_COMMIT) 에서 부르므로 항상 새 트랜잭션으로 처리함
+    executor 큐가 차서 리스너가 커밋한 스레드에서 돌면 REQUIRED 는 이미 끝난 트랜잭션에 참여해서 insert 가 커밋되지 않고,
+    그 트랜잭션의 afterCommit (UnreadNotificationCounter) 도 실행되지 않음
+     */
+    @RetryOnFailure
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<NotificationRecipient> notifyStudyCreated(NotificationMessage notificationMessage, Collection<Long> tagIds,
+                                                          Collection<Long> zoneIds, Long afterId, int size) {
+        List<NotificationRecipient> recipients = notificationRepository.findStudyCreatedRecipients(
+                tagIds, zoneIds, afterId, PageRequest.of(0, size));
+        saveWebNotifications(notificationMessage, recipients);
+        return recipients;
+    }
+
+    // 스터디 소식 한 묶음. 구성원 수만큼 받을 수 있으므로 notifyStudyCreated 와 같이 묶음마다 새 트랜잭션
+    @RetryOnFailure
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<NotificationRecipient> notifyStudyUpdated(NotificationMessage notificationMessage, Long studyId,
+                                                          Long afterId, int size) {
+        List<NotificationRecipient> recipients = notificationRepository.findStudyUpdatedRecipients(
+                studyId, afterId, PageRequest.of(0, size));
+        saveWebNotifications(notificationMessage, recipients);
+        return recipients;
+    }
+
+    // 참가 신청 결과 (대기에서 확정 등). 받을 사람이 몇 명으로 정해져 있어서 한 트랜잭션으로 처리
+    // notifyStudyCreated 와 같은 이유로 새 트랜잭션
+    @RetryOnFailure
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<NotificationRecipient> notifyEnrollmentResult(NotificationMessage notificationMessage, Collection<Long> accountIds) {
+        List<NotificationRecipient> recipients = notificationRepository.findEnrollmentResultRecipients(accountIds);
+        saveWebNotifications(notificationMessage, recipients);
+        return recipients;
+    }
+
+    // 한 묶음을 JDBC batch insert 로 넣고 영속성 컨텍스트를 비움 -> 묶음이 끝나면 엔티티가 메모리에 남지 않음
+    private void saveWebNotifications(NotificationMessage notificationMessage, List<NotificationRecipient> recipients) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(NotificationFanOut.CHUNK_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> notified = new ArrayList<>();
+        for (NotificationRecipient recipient : recipients) {
+            if (recipient.isByWeb()) {
+                entityManager.persist(new Notification(recipient.getId(), notificationMessage, now));
+                notified.add(recipient.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        unreadNotificationCounter.increment(notified);
+        if (!notified.isEmpty()) {
+            eventPublisher.publishEvent(new NotificationCreatedEvent(notified, notificationMessage));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Notification> getNotifications(Long accountId, boolean checked) {
+        return notificationRepository.findByAccountIdAndCheckedOrderByCreatedDateTimeDescIdDesc(
+                accountId, checked, PageRequest.of(0, INBOX_PAGE_SIZE));
+    }
+
+    public int markAllAsRead(Long accountId) {
+        int updated = notificationRepository.markAllAsRead(accountId);
+        unreadNotificationCounter.markAllAsRead(accountId);
+        return updated;
+    }
+}
@@ -0,0 +1,6 @@
+package com.sangwontest.studyolle.modules.notification;
+
+public enum NotificationType {
+
+    STUDY_CREATED, STUDY_UPDATED, EVENT_ENROLLMENT
+}
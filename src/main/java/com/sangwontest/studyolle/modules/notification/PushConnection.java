@@ -0,0 +1,69 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//SSE 연결 하나. 보낼 이벤트는 크기가 정해진 큐에 쌓고 한번에 한 스레드만 꺼내서 씀 (SseEmitter 는 동시에 쓰면 안됨)
+//큐가 차면 (받는 쪽이 느리면) 더 쌓지 않고 PushService 가 연결을 끊음 -> 연결 하나가 쓰는 메모리가 QUEUE_CAPACITY 로 제한됨
+class PushConnection {
+
+    static final int QUEUE_CAPACITY = 64;
+
+    @Getter
+    private final Long accountId;
+
+    @Getter
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<PushEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    PushConnection(Long accountId, SseEmitter emitter) {
+        this.accountId = accountId;
+        this.emitter = emitter;
+    }
+
+    boolean offer(PushEvent event) {
+        return !closed && queue.offer(event);
+    }
+
+    boolean startDraining() {
+        return !closed && draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+
+    boolean hasPending() {
+        return !queue.isEmpty();
+    }
+
+    void sendPending() throws IOException {
+        PushEvent event;
+        while (!closed && (event = queue.poll()) != null) {
+            if (event == PushEvent.HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().id(String.valueOf(event.getId())).name(event.getName()).data(event.getData()));
+            }
+        }
+    }
+
+    boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        queue.clear();
+        return true;
+    }
+}
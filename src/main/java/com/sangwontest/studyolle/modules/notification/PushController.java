@@ -0,0 +1,27 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import com.sangwontest.studyolle.modules.account.CurrentUser;
+import com.sangwontest.studyolle.modules.account.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.servlet.http.HttpServletResponse;
+
+@RestController
+@RequiredArgsConstructor
+public class PushController {
+
+    private final PushService pushService;
+
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@CurrentUser UserAccount userAccount,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             HttpServletResponse response) {
+        response.setHeader("X-Accel-Buffering", "no"); // nginx 가 이벤트를 모아서 보내지 않도록
+        return pushService.subscribe(userAccount.getAccountId(), lastEventId);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//SSE 로 내려보낼 이벤트 한 건. id 는 재연결할 때 브라우저가 Last-Event-ID 로 돌려줌
+@Getter
+@RequiredArgsConstructor
+public class PushEvent {
+
+    static final PushEvent HEARTBEAT = new PushEvent(null, null, null);
+
+    private final Long id;
+
+    private final String name;
+
+    private final Object data;
+}
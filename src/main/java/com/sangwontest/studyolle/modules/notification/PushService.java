@@ -0,0 +1,209 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+로그인한 계정에게 알림, 참가 신청 결과를 SSE 로 바로 보냄
+- SseEmitter 는 서블릿 비동기 요청이라 연결을 열어두는 동안 Tomcat 요청 스레드를 잡고 있지 않음
+  보낼 이벤트가 있을 때만 SSE 전용 executor (AsyncConfig.pushExecutor) 에서 씀
+  느린 클라이언트에 쓰느라 막혀도 이벤트 리스너 executor 나 스케줄러, 커밋한 스레드를 잡지 않음
+  큐가 차서 쓰기를 맡기지 못하면 연결을 끊고, 브라우저가 다시 연결하면서 Last-Event-ID 이후를 받음
+- 연결 등록과 지난 이벤트 재전송, 새 이벤트 추가와 전달은 계정의 버퍼 락 안에서 함 -> 그 사이에 보낸 이벤트를 빠뜨리거나 두번 보내지 않음
+- 20초마다 heartbeat (주석 한줄) -> 프록시가 idle 연결을 끊지 않고, 끊긴 연결은 쓰기에 실패해서 정리됨
+- 계정마다 최근 이벤트 REPLAY_SIZE 개를 들고 있다가 재연결할 때 Last-Event-ID 이후의 것을 다시 보냄
+  연결이 열려있는 동안은 heartbeat 가 버퍼를 읽어서 이벤트가 한동안 없어도 버퍼가 만료되지 않음
+  크기 제한으로 빠졌더라도 연결된 계정에게 보낼 때는 버퍼를 다시 만들어서 열린 연결로는 계속 보냄
+- 연결 수는 계정당 MAX_CONNECTIONS_PER_ACCOUNT (넘으면 오래된 것부터 끊음), 전체 MAX_CONNECTIONS 로 제한
+ */
+@Slf4j
+@Component
+public class PushService {
+
+    public static final long TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+    public static final int MAX_CONNECTIONS = 10_000;
+    public static final int MAX_CONNECTIONS_PER_ACCOUNT = 3;
+    public static final int REPLAY_SIZE = 32;
+    public static final Duration REPLAY_BUFFER_IDLE = Duration.ofMinutes(10);
+
+    private final ThreadPoolTaskExecutor pushExecutor;
+
+    private final Map<Long, List<PushConnection>> connections = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    // 재시작하면 id 가 예전 id 보다 커지도록 시각에서 시작
+    private final AtomicLong eventIds = new AtomicLong(System.currentTimeMillis());
+
+    // 연결되어 있거나 최근에 연결했던 계정만 들고 있음. 연결한 적 없는 계정에게 보내는 이벤트는 쌓지 않음
+    private final Cache<Long, Deque<PushEvent>> replayBuffers;
+
+    @Autowired
+    public PushService(ThreadPoolTaskExecutor pushExecutor) {
+        this(pushExecutor, Ticker.systemTicker());
+    }
+
+    // 테스트에서 버퍼 만료 시간을 앞당길 수 있도록 ticker 를 받음
+    public PushService(ThreadPoolTaskExecutor pushExecutor, Ticker ticker) {
+        this.pushExecutor = pushExecutor;
+        this.replayBuffers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(REPLAY_BUFFER_IDLE)
+                .ticker(ticker)
+                .build();
+    }
+
+    public SseEmitter subscribe(Long accountId, String lastEventId) {
+        if (connectionCount.incrementAndGet() > MAX_CONNECTIONS) {
+            connectionCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "연결이 너무 많습니다. 잠시 후 다시 시도하세요.");
+        }
+
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MILLIS);
+        PushConnection connection = new PushConnection(accountId, emitter);
+        emitter.onCompletion(() -> close(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> close(connection));
+
+        connection.offer(PushEvent.HEARTBEAT); // 응답 헤더와 첫 바이트를 바로 내려보냄
+        Deque<PushEvent> buffer = replayBuffers.get(accountId, id -> new ArrayDeque<>());
+        long after = parseEventId(lastEventId);
+        List<PushConnection> accountConnections;
+        synchronized (buffer) {
+            accountConnections = connections.compute(accountId, (id, current) -> {
+                List<PushConnection> list = current == null ? new CopyOnWriteArrayList<>() : current;
+                list.add(connection);
+                return list;
+            });
+            buffer.stream().filter(event -> event.getId() > after).forEach(connection::offer);
+        }
+        while (accountConnections.size() > MAX_CONNECTIONS_PER_ACCOUNT) {
+            disconnect(accountConnections.get(0));
+        }
+        drain(connection);
+        return emitter;
+    }
+
+    public void send(Long accountId, String name, Object data) {
+        Deque<PushEvent> buffer = connections.containsKey(accountId)
+                ? replayBuffers.get(accountId, id -> new ArrayDeque<>())
+                : replayBuffers.getIfPresent(accountId);
+        if (buffer == null) {
+            return;
+        }
+        PushEvent event = new PushEvent(eventIds.incrementAndGet(), name, data);
+        List<PushConnection> accountConnections;
+        synchronized (buffer) {
+            buffer.addLast(event);
+            if (buffer.size() > REPLAY_SIZE) {
+                buffer.removeFirst();
+            }
+            accountConnections = connections.getOrDefault(accountId, List.of());
+            accountConnections.forEach(connection -> enqueue(connection, event));
+        }
+        accountConnections.forEach(this::drain);
+    }
+
+    // 연결된 계정의 버퍼를 읽어서 (expireAfterAccess) 이벤트가 없는 동안에도 재연결할 때 보낼 이벤트를 남겨둠
+    @Scheduled(fixedRate = 20_000)
+    public void heartbeat() {
+        connections.forEach((accountId, accountConnections) -> {
+            replayBuffers.getIfPresent(accountId);
+            accountConnections.forEach(connection -> deliver(connection, PushEvent.HEARTBEAT));
+        });
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    private void deliver(PushConnection connection, PushEvent event) {
+        enqueue(connection, event);
+        drain(connection);
+    }
+
+    // 받는 쪽이 느려서 큐가 차면 끊음. 브라우저가 다시 연결하면서 Last-Event-ID 이후를 다시 받음
+    private void enqueue(PushConnection connection, PushEvent event) {
+        if (!connection.offer(event)) {
+            disconnect(connection);
+        }
+    }
+
+    private void drain(PushConnection connection) {
+        if (!connection.startDraining()) {
+            return;
+        }
+        try {
+            pushExecutor.execute(() -> sendPending(connection));
+        } catch (TaskRejectedException e) {
+            log.debug("push executor is full, disconnecting account {}", connection.getAccountId());
+            connection.stopDraining();
+            disconnect(connection);
+        }
+    }
+
+    private void disconnect(PushConnection connection) {
+        if (close(connection)) {
+            connection.getEmitter().complete();
+        }
+    }
+
+    private void sendPending(PushConnection connection) {
+        do {
+            try {
+                connection.sendPending();
+            } catch (Exception e) { // 끊긴 연결. 컨테이너가 onError, onCompletion 을 호출함
+                log.debug("push connection of account {} is broken : {}", connection.getAccountId(), e.getMessage());
+                close(connection);
+                return;
+            } finally {
+                connection.stopDraining();
+            }
+            // 다 보내고 draining 을 푸는 사이에 들어온 이벤트
+        } while (connection.hasPending() && connection.startDraining());
+    }
+
+    // 처음 닫은 경우 true
+    private boolean close(PushConnection connection) {
+        if (!connection.close()) {
+            return false;
+        }
+        connectionCount.decrementAndGet();
+        connections.computeIfPresent(connection.getAccountId(), (id, accountConnections) -> {
+            accountConnections.remove(connection);
+            return accountConnections.isEmpty() ? null : accountConnections;
+        });
+        return true;
+    }
+
+    private long parseEventId(String lastEventId) {
+        if (lastEventId == null) {
+            return Long.MAX_VALUE; // 처음 연결하면 지난 이벤트는 보내지 않음
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
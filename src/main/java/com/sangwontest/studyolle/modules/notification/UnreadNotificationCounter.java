@@ -0,0 +1,90 @@
+package com.sangwontest.studyolle.modules.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sangwontest.studyolle.modules.account.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+계정별 읽지 않은 알림 수. 모든 화면의 상단 메뉴에서 읽으므로 (fragments.html) 요청마다 count 쿼리를 보내지 않고 메모리에서 읽음
+- Caffeine 은 내부적으로 ConcurrentHashMap 이라 계정마다 다른 bin 에서 락을 잡음 -> 서로 다른 계정의 증감이 서로 막지 않음
+- 없는 계정은 처음 읽을 때 DB 에서 한번 세서 채움. 크기, 시간 제한으로 빠지면 다음에 다시 셈
+- 증감은 커밋된 뒤에만 반영 -> 롤백된 알림이 세어지지 않고, 커밋 전 값을 다시 읽어서 채우는 일이 없음
+- 채우는 도중에 커밋된 알림은 한번 더 세어질 수 있는데, 모두 읽음 처리나 RELOAD_AFTER 로 다시 맞춰짐
+- 만료 시간은 DB 에서 센 때부터 잼. expireAfterWrite 는 computeIfPresent 로 증감할 때마다 다시 늘어나서
+  알림을 계속 받는 계정은 틀어진 값이 DB 에서 다시 세어지지 않음 -> 증감, 읽기는 남은 시간을 그대로 둠
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    static final Duration RELOAD_AFTER = Duration.ofMinutes(10);
+
+    private final NotificationRepository notificationRepository;
+
+    private final Cache<Long, AtomicInteger> counters = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfter(new Expiry<Long, AtomicInteger>() {
+                @Override
+                public long expireAfterCreate(Long accountId, AtomicInteger counter, long currentTime) {
+                    return RELOAD_AFTER.toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(Long accountId, AtomicInteger counter, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(Long accountId, AtomicInteger counter, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    public int count(UserAccount userAccount) {
+        return count(userAccount.getAccountId());
+    }
+
+    public int count(Long accountId) {
+        return counters.get(accountId, id -> new AtomicInteger((int) notificationRepository.countByAccountIdAndCheckedFalse(id)))
+                .get();
+    }
+
+    // 메모리에 없는 계정은 다음에 읽을 때 DB 에서 세므로 건드리지 않음
+    public void increment(Collection<Long> accountIds) {
+        afterCommit(() -> accountIds.forEach(accountId ->
+                counters.asMap().computeIfPresent(accountId, (id, counter) -> {
+                    counter.incrementAndGet();
+                    return counter;
+                })));
+    }
+
+    public void markAllAsRead(Long accountId) {
+        afterCommit(() -> counters.asMap().computeIfPresent(accountId, (id, counter) -> {
+            counter.set(0);
+            return counter;
+        }));
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.sangwontest.studyolle.modules.study;
+
+//예약된 상태 변경을 처리할 스터디 (캐시를 지우려면 path 도 필요함)
+public interface DueStudy {
+
+    Long getId();
+
+    String getPath();
+}
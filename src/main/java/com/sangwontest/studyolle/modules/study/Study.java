@@ -15,12 +15,6 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 //조인 그래프를 정의 -> eagerfetch하도록 entitymanagergraph 정의
-// 요청이 많이 들어오는 상황에서는 쿼리 갯수를 줄이는게 유리할 수 잇음 -> 현재 front에서 조회할때 5개의 쿼리가 발생하여 시간이 늦어지는 문제 발생함
-@NamedEntityGraph(name = "Study.withAll", attributeNodes = {
-        @NamedAttributeNode("tags"),
-        @NamedAttributeNode("zones"),
-        @NamedAttributeNode("managers"),
-        @NamedAttributeNode("members")})
 @NamedEntityGraph(name = "Study.withTagsAndManager", attributeNodes = {
         @NamedAttributeNode("tags"),
         @NamedAttributeNode("managers") // tags를 입력하고 삭제할때 모든 정보를 가져올 필요없이 매니저인지(권한확인)와 tags정보만 가져오면된다. zone도 같음
@@ -29,8 +23,13 @@ import java.util.Set;
         @NamedAttributeNode("zones"),
         @NamedAttributeNode("managers")
 })
-@NamedEntityGraph(name = "Study.withManager", attributeNodes = {@NamedAttributeNode("managers")})
-@NamedEntityGraph(name = "Study.withMember", attributeNodes = {@NamedAttributeNode("members")})
+// 목록 조회 (StudyRepositoryExtension.findStudySummaries) 는 상태 조건으로 거른 뒤 공개일, id 순으로 keyset 페이징 함
+// 예약된 상태 변경 (StudyStateScheduler) 은 모집 중이면서 종료 시각이 지난 스터디를 찾음
+// 조인 테이블의 PK 는 (study_id, xxx_id) 라서 태그, 지역, 관리자로 스터디를 찾을 때는 반대 방향 인덱스가 필요함
+@Table(indexes = {
+        @Index(name = "idx_study_listing", columnList = "published, closed, recruiting, publishedDatetime, id"),
+        @Index(name = "idx_study_recruiting_end", columnList = "recruiting, recruitingEndDateTime")
+})
 @Entity
 @Getter
 @EqualsAndHashCode(of = "id")
@@ -42,7 +41,15 @@ public class Study{
     @GeneratedValue
     private Long id;
 
+    // 관리자 여러명이 동시에 설정을 바꿀 때 나중에 커밋한 쪽이 앞의 변경을 덮어쓰지 않도록 낙관적 락
+    // 가입, 탈퇴는 조인 행과 카운터만 직접 바꾸므로 버전을 올리지 않음 -> 가입끼리는 충돌하지 않음
+    // 컬럼이 생기기 전의 스터디도 0 부터 시작하도록 기본값을 둠 (null 이면 Hibernate 가 버전을 비교, 증가하지 못함)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToMany
+    @JoinTable(name = "study_managers", indexes = @Index(name = "idx_study_managers_account", columnList = "managers_id, study_id"))
     private Set<Account> managers = new HashSet<>();
 
     @ManyToMany
@@ -55,16 +62,19 @@ public class Study{
 
     private String shortDescription;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String fullDescription;
+    // 상세 소개는 LOB 이라 필요한 화면에서만 읽음 (StudyDescription 참고)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    private StudyDescription description;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String image;
+    @Column(length = 64)
+    private String image; // 배너 이미지의 해시 (이미지 저장소 키)
 
     @ManyToMany
+    @JoinTable(name = "study_tags", indexes = @Index(name = "idx_study_tags_tag", columnList = "tags_id, study_id"))
     private Set<Tags> tags = new HashSet<>();
 
     @ManyToMany
+    @JoinTable(name = "study_zones", indexes = @Index(name = "idx_study_zones_zone", columnList = "zones_id, study_id"))
     private Set<Zones> zones = new HashSet<>();
 
     private LocalDateTime publishedDatetime;
@@ -73,6 +83,10 @@ public class Study{
 
     private LocalDateTime recruitingUpdateDateTime;
 
+    private LocalDateTime recruitingEndDateTime; // 지정하면 이 시각이 지난 뒤 배치가 모집을 멈춤
+
+    private boolean autoClose; // 마지막 모임이 끝나면 배치가 스터디를 종료함
+
     private boolean recruiting;
 
     private boolean published;
@@ -81,6 +95,14 @@ public class Study{
 
     private boolean useBanner;
 
+    // 구성원, 모임 수는 화면마다 컬렉션을 세지 않도록 컬럼으로 유지함 (예전 스터디는 db/backfill/study-counts.sql 로 채움)
+    // 동시에 가입해도 값이 맞도록 StudyRepository 의 update 쿼리로만 증감하고, dirty checking 으로 덮어쓰지 않게 updatable = false
+    @Column(updatable = false)
+    private int memberCount;
+
+    @Column(updatable = false)
+    private int eventCount;
+
     @Builder
     public Study(Long id, String path, String title, String shortDescription,
                  String fullDescription, String image, LocalDateTime publishedDatetime,
@@ -90,7 +112,7 @@ public class Study{
         this.path = path;
         this.title = title;
         this.shortDescription = shortDescription;
-        this.fullDescription = fullDescription;
+        this.description = fullDescription == null ? null : new StudyDescription(fullDescription);
         this.image = image;
         this.publishedDatetime = publishedDatetime;
         this.closeDateTime = closeDateTime;
@@ -106,34 +128,26 @@ public class Study{
         this.path = studyForm.getPath();
         this.title = studyForm.getTitle();
         this.shortDescription = studyForm.getShortDescription();
-        this.fullDescription = studyForm.getFullDescription();
+        this.description = new StudyDescription(studyForm.getFullDescription());
     }
 
     public void addManager(Account account) {
         this.managers.add(account);
     }
 
-
-    public boolean isJoinable(UserAccount userAccount) { //가입이 가능한가?
-        Account account = userAccount.getAccount();
-        return this.isPublished() && this.isRecruiting()
-                && this.members.contains(account) && !this.managers.contains(account);
-    }
-
-    public boolean isMember(UserAccount userAccount) {
-        return this.members.contains(userAccount.getAccount());
-    }
+    // 구성원 여부는 members 를 로딩하지 않고 StudyMemberChecker 의 exists 쿼리로 확인
+    // 세션의 UserAccount 는 엔티티를 들고있지 않으므로 id로 비교
     public boolean isManager(UserAccount userAccount) {
-        return this.managers.contains(userAccount.getAccount());
-    }
-
-    public boolean isManagerOf(Account account) {
-        return this.getManagers().contains(account);
+        return this.managers.stream().anyMatch(userAccount::isAccountOf);
     }
 
     public void updateDescription(StudyDescriptionForm studyDescriptionForm) {
         this.shortDescription = studyDescriptionForm.getShortDescription();
-        this.fullDescription = studyDescriptionForm.getFullDescription();
+        this.description = new StudyDescription(studyDescriptionForm.getFullDescription());
+    }
+
+    public String getFullDescription() {
+        return this.description == null ? null : this.description.getFullDescription();
     }
 
     public void updateImage(String image) {
@@ -145,54 +159,10 @@ public class Study{
     }
 
 
-    public void publish() {
-        if (!this.closed && !this.published) {
-            this.published = true;
-            this.publishedDatetime = LocalDateTime.now();
-        } else{
-            throw new RuntimeException("스터디를 공개할 수 없는 상태 입니다. 스터디를 이미 공개 했거나 종료했습니다.");
-        }
-    }
-
-    public void close(){
-        if (this.published && !this.closed){
-            this.closed = true;
-            this.closeDateTime = LocalDateTime.now();
-        } else{
-            throw new RuntimeException("스터디를 공개할 수 없습니다. 스터디를 공개하지 않았거나 이미 종료한 스터디입니다.");
-        }
-    }
-
     public boolean isRemovable() {
         return !this.published;
     }
 
-    public void startRecruit(){
-        if (canUpdateRecruiting()) {
-            this.recruiting = true;
-            this.recruitingUpdateDateTime = LocalDateTime.now();
-        } else{
-            throw new RuntimeException("인원 모임을 시작할 수 없습니다. 스터디를 공개하거나 한 시간 뒤에 다시 시도하세요");
-        }
-    }
-
-    public void stopRecruit(){
-        if (canUpdateRecruiting()) {
-            this.recruiting = false;
-            this.recruitingUpdateDateTime = LocalDateTime.now();
-        } else{
-            throw new RuntimeException("인원 모임을 중지 할 수 없습니다. 스터디를 공개하거나 한 시간 뒤에 다시 시도하세요");
-        }
-    }
-
-    public boolean canUpdateRecruiting() {
-        return this.published && this.recruitingUpdateDateTime == null || this.recruitingUpdateDateTime.isBefore(LocalDateTime.now().minusHours(1));
-    }
-
-    public void changeTitle(String newTitle) {
-        this.title = newTitle;
-    }
-
     public void changePath(String newPath) {
         this.path = newPath;
     }
@@ -203,9 +173,28 @@ public class Study{
 
     public void addMember(Account account) {
         this.members.add(account);
+        this.memberCount++;
     }
 
     public void removeMember(Account account) {
         this.members.remove(account);
+        this.memberCount--;
+    }
+
+    // 조인 행을 직접 insert, delete 한 뒤 (StudyRepository.insertMember, deleteMember) 메모리의 카운터만 맞춰줌
+    public void memberJoined() {
+        this.memberCount++;
+    }
+
+    public void memberLeft() {
+        this.memberCount--;
+    }
+
+    public void addEvent() {
+        this.eventCount++;
+    }
+
+    public void removeEvent() {
+        this.eventCount--;
     }
 }
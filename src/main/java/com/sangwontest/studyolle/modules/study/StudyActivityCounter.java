@@ -0,0 +1,95 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+가입, 탈퇴, 참가 신청을 (스터디, 날짜) 별로 메모리에서 세다가 1분마다 StudyDailyStat 에 한번에 더함
+- 요청마다 통계 행을 update 하지 않으므로 인기 스터디의 그날 행에 락이 몰리지 않음
+- 더하기와 꺼내기를 ConcurrentHashMap 의 compute, remove 로 해서 꺼내는 중에 더한 값을 잃어버리지 않음
+- 반영에 실패한 값은 다시 넣어두고 다음 주기에 반영. 종료할 때 남은 값을 반영함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyActivityCounter {
+
+    private final StudyStatService studyStatService;
+
+    private final Map<Key, Counts> pending = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleStudyActivityEvent(StudyActivityEvent studyActivityEvent) {
+        count(studyActivityEvent.getStudyId(), studyActivityEvent.getOccurredAt().toLocalDate(), studyActivityEvent.getActivityType());
+    }
+
+    public void count(Long studyId, LocalDate date, StudyActivityType activityType) {
+        pending.compute(new Key(studyId, date), (key, counts) -> {
+            Counts updated = counts == null ? new Counts() : counts;
+            updated.add(activityType);
+            return updated;
+        });
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelay = 60_000)
+    public void flush() {
+        for (Key key : pending.keySet()) {
+            Counts counts = pending.remove(key);
+            if (counts == null) {
+                continue;
+            }
+            try {
+                studyStatService.add(key.studyId, key.date, counts.joins, counts.leaves, counts.enrollments);
+            } catch (RuntimeException e) {
+                log.warn("failed to flush study {} stats of {}", key.studyId, key.date, e);
+                pending.merge(key, counts, Counts::merge);
+            }
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Long studyId;
+        private final LocalDate date;
+    }
+
+    // compute 안에서만 바뀌고 remove 한 뒤에만 읽으므로 따로 동기화하지 않음
+    private static class Counts {
+        private int joins;
+        private int leaves;
+        private int enrollments;
+
+        void add(StudyActivityType activityType) {
+            switch (activityType) {
+                case JOIN:
+                    joins++;
+                    break;
+                case LEAVE:
+                    leaves++;
+                    break;
+                case ENROLLMENT:
+                    enrollments++;
+                    break;
+            }
+        }
+
+        Counts merge(Counts other) {
+            joins += other.joins;
+            leaves += other.leaves;
+            enrollments += other.enrollments;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//스터디 가입, 탈퇴, 모임 참가 신청. 커밋된 뒤 StudyActivityCounter 가 일별 통계에 더함
+@Getter
+@RequiredArgsConstructor
+public class StudyActivityEvent {
+
+    private final Long studyId;
+
+    private final StudyActivityType activityType;
+
+    private final LocalDateTime occurredAt;
+}
@@ -0,0 +1,6 @@
+package com.sangwontest.studyolle.modules.study;
+
+public enum StudyActivityType {
+
+    JOIN, LEAVE, ENROLLMENT
+}
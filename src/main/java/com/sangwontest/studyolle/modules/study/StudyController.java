@@ -13,17 +13,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
 public class StudyController {
 
     private final StudyService studyService;
-    private final StudyRepository studyRepository;
     private final StudyFormValidator studyFormValidator;
 
     @InitBinder("studyForm") // <- 이러한 값이 들어오면
@@ -53,37 +54,42 @@ public class StudyController {
 
     @GetMapping("/study/{path}")
     public String viewStudy(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudy(path);
+        StudyView study = studyService.getStudyView(path);
 
         model.addAttribute(account);
-        model.addAttribute(study);
+        model.addAttribute("study", study);
+        model.addAttribute("descriptionHtml", studyService.getDescriptionHtml(study.getId(), study.getVersion()));
 
         return "study/view";
     }
 
     @GetMapping("/study/{path}/members")
-    public String viewStudyMembers(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudy(path);
+    public String viewStudyMembers(@CurrentUser Account account, @PathVariable String path,
+                                   @RequestParam(required = false) Long after, Model model) {
+        StudyView study = studyService.getStudyView(path);
+        List<StudyMember> members = studyService.getStudyMembers(study.getId(), after);
 
         model.addAttribute(account);
-        model.addAttribute(study);
+        model.addAttribute("study", study);
+        model.addAttribute("members", members);
+        if (members.size() == StudyService.MEMBER_PAGE_SIZE) { // 다음 페이지가 있을 수 있으면 마지막 id를 넘겨줌
+            model.addAttribute("nextMemberId", members.get(members.size() - 1).getId());
+        }
 
         return "study/members";
     }
 
     @GetMapping("/study/{path}/join")
     public String joinStudy(@CurrentUser Account account, @PathVariable String path) {
-        Study study = studyRepository.findStudyWithMembersByPath(path);
-        studyService.addMember(study, account);
-        return "redirect:/study/" + study.getEncodePath() + "members";
+        Study study = studyService.addMember(path, account);
+        return "redirect:/study/" + study.getEncodePath() + "/members";
 
     }
 
     @GetMapping("/study/{path}/leave")
     public String leaveStudy(@CurrentUser Account account, @PathVariable String path) {
-        Study study = studyRepository.findStudyWithMembersByPath(path);
-        studyService.leaveMember(study, account);
-        return "redirect:/study/" + study.getEncodePath() + "members";
+        Study study = studyService.leaveMember(path, account);
+        return "redirect:/study/" + study.getEncodePath() + "/members";
     }
 
 }
@@ -0,0 +1,12 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//스터디를 공개했을 때 (다른 사용자에게 처음 보이는 시점). 관심 주제, 지역이 맞는 사용자에게 알림을 보내기 위한 이벤트
+@Getter
+@RequiredArgsConstructor
+public class StudyCreatedEvent {
+
+    private final Long studyId;
+}
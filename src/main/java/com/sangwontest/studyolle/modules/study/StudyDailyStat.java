@@ -0,0 +1,45 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDate;
+
+//스터디의 하루치 활동 집계 (스터디, 날짜) 당 한 행. 통계 화면은 이 테이블만 읽고 가입, 참가 신청 원본 행은 읽지 않음
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_study_daily_stat", columnNames = {"studyId", "statDate"}))
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StudyDailyStat {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(nullable = false)
+    private Long studyId;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    private int joins;
+
+    private int leaves;
+
+    private int enrollments;
+
+    public StudyDailyStat(Long studyId, LocalDate statDate, int joins, int leaves, int enrollments) {
+        this.studyId = studyId;
+        this.statDate = statDate;
+        this.joins = joins;
+        this.leaves = leaves;
+        this.enrollments = enrollments;
+    }
+}
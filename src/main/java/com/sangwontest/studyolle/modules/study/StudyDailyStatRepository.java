@@ -0,0 +1,23 @@
+package com.sangwontest.studyolle.modules.study;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface StudyDailyStatRepository extends JpaRepository<StudyDailyStat, Long> {
+
+    // (studyId, statDate) 유니크 인덱스로 찾아서 읽지 않고 바로 더함
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update StudyDailyStat s set s.joins = s.joins + :joins, s.leaves = s.leaves + :leaves, " +
+            "s.enrollments = s.enrollments + :enrollments where s.studyId = :studyId and s.statDate = :statDate")
+    int increment(@Param("studyId") Long studyId, @Param("statDate") LocalDate statDate,
+                  @Param("joins") int joins, @Param("leaves") int leaves, @Param("enrollments") int enrollments);
+
+    List<StudyDailyStat> findByStudyIdAndStatDateGreaterThanEqualOrderByStatDateDesc(Long studyId, LocalDate since);
+}
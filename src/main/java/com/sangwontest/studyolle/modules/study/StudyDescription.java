@@ -0,0 +1,37 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.infra.html.HtmlSanitizer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+
+/*
+스터디 상세 소개 (큰 LOB 컬럼 두개)
+Study 에 컬럼으로 두면 태그, 지역, 권한 확인처럼 소개가 필요없는 조회도 매번 LOB 을 읽으므로 따로 떼고 Study 에서 LAZY 로 참조함
+소개를 고치면 행을 바꾸지 않고 새로 만들어서 Study 의 참조(FK)를 바꿈 -> Study 의 version 이 올라가고, 조회 화면 캐시 키가 바뀜
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StudyDescription {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Lob
+    private String fullDescription; // 작성한 그대로 (수정 화면, 검색 색인)
+
+    @Lob
+    private String html; // 저장할 때 한번만 sanitize 한 결과 (조회 화면)
+
+    public StudyDescription(String fullDescription) {
+        this.fullDescription = fullDescription;
+        this.html = HtmlSanitizer.sanitize(fullDescription);
+    }
+}
@@ -0,0 +1,46 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.modules.notification.NotificationFanOut;
+import com.sangwontest.studyolle.modules.notification.NotificationMessage;
+import com.sangwontest.studyolle.modules.notification.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+//스터디 이벤트는 커밋된 뒤에만 (롤백되면 보내지 않음), 요청 스레드가 아닌 AsyncConfig 의 executor 에서 처리
+//알림은 묶음마다 커밋하므로 리스너 전체를 다시 실행하지 않고, 일시적인 오류는 묶음 단위로 다시 시도함 (NotificationService)
+@Async
+@Component
+@RequiredArgsConstructor
+public class StudyEventListener {
+
+    private final StudyRepository studyRepository;
+    private final NotificationFanOut notificationFanOut;
+
+    // 처음부터 다시 보내면 이미 보낸 묶음에 알림이 또 들어가므로 여기서는 재시도하지 않고 묶음 단위로 재시도함 (NotificationService)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleStudyCreatedEvent(StudyCreatedEvent studyCreatedEvent) {
+        Study study = studyRepository.findById(studyCreatedEvent.getStudyId()).orElse(null);
+        if (study == null || !study.isPublished()) {
+            return;
+        }
+        NotificationMessage notificationMessage = new NotificationMessage(NotificationType.STUDY_CREATED,
+                study.getTitle(), "/study/" + study.getEncodePath(), study.getShortDescription());
+        notificationFanOut.notifyStudyCreated(notificationMessage,
+                studyRepository.findTagIds(study.getId()), studyRepository.findZoneIds(study.getId()));
+    }
+
+    // 스터디 종료, 모집 시작/중지를 구성원과 관리자에게 알림. 재시도는 handleStudyCreatedEvent 와 같은 이유로 묶음 단위
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleStudyUpdateEvent(StudyUpdateEvent studyUpdateEvent) {
+        Study study = studyRepository.findById(studyUpdateEvent.getStudyId()).orElse(null);
+        if (study == null) {
+            return;
+        }
+        NotificationMessage notificationMessage = new NotificationMessage(NotificationType.STUDY_UPDATED,
+                study.getTitle(), "/study/" + study.getEncodePath(), studyUpdateEvent.getMessage());
+        notificationFanOut.notifyStudyUpdated(notificationMessage, study.getId());
+    }
+}
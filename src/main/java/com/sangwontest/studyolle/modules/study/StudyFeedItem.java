@@ -0,0 +1,19 @@
+package com.sangwontest.studyolle.modules.study;
+
+import java.time.LocalDateTime;
+
+//홈 화면 추천 스터디 한 건 (관심 주제, 활동 지역이 겹친 수 score 로 정렬)
+public interface StudyFeedItem {
+
+    Long getId();
+
+    String getPath();
+
+    String getTitle();
+
+    String getShortDescription();
+
+    LocalDateTime getPublishedDatetime();
+
+    long getScore();
+}
@@ -0,0 +1,25 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.modules.main.HomeFeedProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//홈 화면의 추천 스터디 목록
+@Component
+@RequiredArgsConstructor
+public class StudyHomeFeedProvider implements HomeFeedProvider {
+
+    private final StudyService studyService;
+
+    @Override
+    public String getAttributeName() {
+        return "studyList";
+    }
+
+    @Override
+    public List<StudyFeedItem> getFeed(Long accountId) {
+        return studyService.getRecommendedStudies(accountId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.Builder;
+import lombok.Getter;
+
+//스터디 목록 조건. null 인 값은 조건에서 빠짐
+@Getter
+@Builder
+public class StudyListCondition {
+
+    private final Long tagId;
+
+    private final Long zoneId;
+
+    private final Long managerId; // 해당 계정이 관리하는 스터디
+
+    private final Boolean published;
+
+    private final Boolean recruiting;
+
+    private final Boolean closed;
+}
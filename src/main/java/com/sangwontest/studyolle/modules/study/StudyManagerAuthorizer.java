@@ -0,0 +1,29 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+//스터디 설정 화면마다 managers 를 fetch 해서 contains 로 확인하던 것을
+//(path, account id) exists 쿼리 하나로 확인함. 관리자라는 결과는 StudyRepository.existsManager 에서 잠깐 캐시됨
+@Component
+@RequiredArgsConstructor
+public class StudyManagerAuthorizer {
+
+    private final StudyRepository studyRepository;
+    private final StudyPathAliases studyPathAliases;
+
+    public void checkManager(String path, Account account) {
+        if (studyRepository.existsManager(path, account.getId())) {
+            return;
+        }
+
+        // 실패했을 때만 스터디가 있는지 한번 더 확인해서 예전처럼 없는 스터디와 권한 없음을 구분함
+        if (!studyRepository.existsByPath(path)) {
+            studyPathAliases.checkMoved(path);
+            throw new IllegalArgumentException(path + "에 해당하는 스터디가 없습니다.");
+        }
+        throw new AccessDeniedException("해당 기능을 사용할 수 없습니다.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.sangwontest.studyolle.modules.study;
+
+//스터디 구성원 목록에 필요한 값만 가져오는 projection (Account 엔티티 전체를 읽지 않음)
+public interface StudyMember {
+
+    Long getId();
+
+    String getNickname();
+
+    String getBio();
+
+    String getProfileImage();
+}
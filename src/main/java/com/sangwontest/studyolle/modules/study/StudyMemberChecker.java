@@ -0,0 +1,29 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.modules.account.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//화면에서 가입 여부를 확인할 때 members 컬렉션을 로딩하지 않고 조인 테이블 exists 쿼리로 확인
+//한 화면에서 여러번 (가입 버튼, 탈퇴 버튼) 물어보므로 요청 안에서는 결과를 재사용함
+//템플릿에서는 ${@studyMemberChecker.isMember(study.id, #authentication.principal)} 로 사용
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class StudyMemberChecker {
+
+    private final StudyRepository studyRepository;
+
+    private final Map<Long, Boolean> memberships = new HashMap<>();
+
+    public boolean isMember(Long studyId, UserAccount userAccount) {
+        if (userAccount == null) {
+            return false;
+        }
+        return memberships.computeIfAbsent(studyId, id -> studyRepository.existsMember(id, userAccount.getAccountId()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.Getter;
+
+//예전 경로로 스터디를 찾은 경우. StudyMovedExceptionHandler 가 지금 경로로 redirect 함
+@Getter
+public class StudyMovedException extends RuntimeException {
+
+    private final String path;
+    private final String currentPath;
+
+    public StudyMovedException(String path, String currentPath) {
+        super(path + " 스터디의 경로가 " + currentPath + "(으)로 바뀌었습니다.");
+        this.path = path;
+        this.currentPath = currentPath;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sangwontest.studyolle.modules.study;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+//예전 경로로 들어온 요청을 /study/{지금 경로}/... 로 redirect. 뒤쪽 경로와 쿼리 스트링은 그대로 붙임
+//GET 은 301 (브라우저, 검색엔진이 새 주소를 기억함), 그 외에는 method 와 body 를 유지하도록 308
+@ControllerAdvice
+public class StudyMovedExceptionHandler {
+
+    @ExceptionHandler(StudyMovedException.class)
+    public ResponseEntity<Void> redirect(StudyMovedException e, HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        String oldPrefix = "/study/" + URLEncoder.encode(e.getPath(), StandardCharsets.UTF_8);
+        String rest = uri.startsWith(oldPrefix) ? uri.substring(oldPrefix.length()) : "";
+
+        StringBuilder location = new StringBuilder(request.getContextPath())
+                .append("/study/").append(URLEncoder.encode(e.getCurrentPath(), StandardCharsets.UTF_8))
+                .append(rest);
+        if (request.getQueryString() != null) {
+            location.append('?').append(request.getQueryString());
+        }
+
+        HttpStatus status = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? HttpStatus.MOVED_PERMANENTLY : HttpStatus.PERMANENT_REDIRECT;
+        return ResponseEntity.status(status).header(HttpHeaders.LOCATION, location.toString()).build();
+    }
+}
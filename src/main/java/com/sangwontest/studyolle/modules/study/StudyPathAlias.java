@@ -0,0 +1,40 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//스터디 경로를 바꾸기 전에 쓰던 경로. 예전 링크로 들어오면 지금 경로로 301 redirect 함 (StudyPathAliases)
+//스터디는 id 로만 가리켜서 경로가 여러번 바뀌어도 모든 예전 경로가 지금 경로로 바로 연결됨
+@Table(indexes = @Index(name = "idx_study_path_alias_study", columnList = "studyId"))
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StudyPathAlias {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String path;
+
+    @Column(nullable = false)
+    private Long studyId;
+
+    private LocalDateTime createdDateTime;
+
+    public StudyPathAlias(String path, Long studyId) {
+        this.path = path;
+        this.studyId = studyId;
+        this.createdDateTime = LocalDateTime.now();
+    }
+}
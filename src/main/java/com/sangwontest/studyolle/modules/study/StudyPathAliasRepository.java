@@ -0,0 +1,40 @@
+package com.sangwontest.studyolle.modules.study;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface StudyPathAliasRepository extends JpaRepository<StudyPathAlias, Long> {
+
+    boolean existsByPath(String path);
+
+    boolean existsByPathAndStudyIdNot(String path, Long studyId);
+
+    @Query("select a.path from StudyPathAlias a where a.path in :paths")
+    List<String> findPathsIn(@Param("paths") Collection<String> paths);
+
+    @Query("select s.path from StudyPathAlias a, Study s where a.studyId = s.id and a.path = :path")
+    String findCurrentPath(@Param("path") String path);
+
+    @Query("select a.path from StudyPathAlias a where a.studyId = :studyId")
+    List<String> findPathsByStudyId(@Param("studyId") Long studyId);
+
+    // 최근에 바뀐 경로부터 (예전 링크가 아직 많이 돌아다닐 가능성이 큼)
+    @Query("select a.path as path, s.path as currentPath from StudyPathAlias a, Study s where a.studyId = s.id order by a.id desc")
+    List<StudyPathRedirect> findRecentRedirects(Pageable pageable);
+
+    @Modifying
+    @Query("delete from StudyPathAlias a where a.path = :path and a.studyId = :studyId")
+    int deleteByPathAndStudyId(@Param("path") String path, @Param("studyId") Long studyId);
+
+    @Modifying
+    @Query("delete from StudyPathAlias a where a.studyId = :studyId")
+    void deleteByStudyId(@Param("studyId") Long studyId);
+}
@@ -0,0 +1,89 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.infra.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+예전 스터디 경로 -> 지금 경로
+스터디를 못 찾았을 때만 확인하므로 정상 조회에는 비용이 없음
+최근에 바뀐 경로를 애플리케이션이 뜰 때 캐시에 올려두고 (크기 제한), 캐시에 없으면 DB 에서 찾아서 넣음
+경로를 바꿀 때의 캐시 put 은 TransactionAwareCacheManagerProxy 라서 커밋된 뒤에 반영됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyPathAliases {
+
+    static final int WARM_UP_SIZE = 10_000;
+
+    private final StudyPathAliasRepository studyPathAliasRepository;
+    private final CacheManager cacheManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<StudyPathRedirect> redirects = studyPathAliasRepository.findRecentRedirects(PageRequest.of(0, WARM_UP_SIZE));
+        redirects.forEach(redirect -> cache().put(redirect.getPath(), redirect.getCurrentPath()));
+        log.info("study path aliases loaded : {}", redirects.size());
+    }
+
+    // 예전 경로면 지금 경로, 아니면 null
+    public String resolve(String path) {
+        String currentPath = cache().get(path, String.class);
+        if (currentPath == null) {
+            currentPath = studyPathAliasRepository.findCurrentPath(path);
+            if (currentPath != null) {
+                // 이어서 StudyMovedException 으로 트랜잭션이 롤백되므로 커밋을 기다리는 put 대신 바로 넣는 putIfAbsent
+                cache().putIfAbsent(path, currentPath);
+            }
+        }
+        return currentPath;
+    }
+
+    // 스터디를 못 찾은 경우에 호출. 예전 경로면 StudyMovedException
+    public void checkMoved(String path) {
+        String currentPath = resolve(path);
+        if (currentPath != null) {
+            throw new StudyMovedException(path, currentPath);
+        }
+    }
+
+    public boolean isAlias(String path) {
+        return studyPathAliasRepository.existsByPath(path);
+    }
+
+    // 다른 스터디의 예전 경로인지. 이 스터디가 예전에 쓰던 경로는 다시 쓸 수 있음
+    public boolean isAliasOfOtherStudy(String path, Long studyId) {
+        return studyPathAliasRepository.existsByPathAndStudyIdNot(path, studyId);
+    }
+
+    // 바꾸기 전 경로를 남기고, 이 스터디의 예전 경로들이 모두 새 경로를 가리키도록 캐시를 갱신
+    // 예전에 쓰던 경로로 되돌아가면 그 경로는 더 이상 예전 경로가 아니므로 지움 (path unique -> 다음에 바꿀 때 다시 남길 수 있도록)
+    public void moved(Study study, String oldPath) {
+        if (studyPathAliasRepository.deleteByPathAndStudyId(study.getPath(), study.getId()) > 0) {
+            cache().evict(study.getPath());
+        }
+        studyPathAliasRepository.save(new StudyPathAlias(oldPath, study.getId()));
+        for (String alias : studyPathAliasRepository.findPathsByStudyId(study.getId())) {
+            cache().put(alias, study.getPath());
+        }
+    }
+
+    public void removed(Study study) {
+        List<String> aliases = studyPathAliasRepository.findPathsByStudyId(study.getId());
+        studyPathAliasRepository.deleteByStudyId(study.getId());
+        aliases.forEach(cache()::evict);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.STUDY_PATH_ALIAS_CACHE);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sangwontest.studyolle.modules.study;
+
+//예전 경로 -> 지금 경로
+public interface StudyPathRedirect {
+
+    String getPath();
+
+    String getCurrentPath();
+}
@@ -1,29 +1,177 @@
 package com.sangwontest.studyolle.modules.study;
 
+import com.sangwontest.studyolle.infra.config.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Transactional(readOnly = true)
-public interface StudyRepository extends JpaRepository<Study, Long> {
+public interface StudyRepository extends JpaRepository<Study, Long>, StudyRepositoryExtension {
 
     boolean existsByPath(String path);
 
-    // Load : 우리가 엔티티 그래프에다가 명시한 연관관계는 eager모드로 가져오고, 나머지는 attribute들은 기본 fetch type에 따른다)
-    @EntityGraph(value = "Study.withAll", type = EntityGraph.EntityGraphType.LOAD)
-    Study findByPath(String path);
-
     @EntityGraph(value = "Study.withTagsAndManager", type = EntityGraph.EntityGraphType.FETCH)
     Study findStudyWithTagsByPath(String path);
 
     @EntityGraph(value = "Study.withZonesAndManager", type = EntityGraph.EntityGraphType.FETCH)
     Study findStudyWithZonesByPath(String path);
 
-    @EntityGraph(value = "Study.withManager", type = EntityGraph.EntityGraphType.FETCH)
-    Study findStudyWithManagersByPath(String path);
+    Study findStudyOnlyByPath(String path);
+
+    // 전체 내보내기용. 마지막으로 읽은 id 다음부터 한 묶음씩 (keyset) -> 커서를 열어두지 않으므로 묶음 사이에 다른 쿼리를 보내도 됨
+    // 연관관계는 읽지 않으므로 호출하는 쪽에서 묶음 단위로 fetch join 하고 EntityManager 를 비워야 메모리가 늘지 않음
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"))
+    @Query("select s from Study s where s.id > :lastId order by s.id")
+    List<Study> findChunkAfter(@Param("lastId") Long lastId, Pageable pageable);
 
-    @EntityGraph(value = "Study.withMember", type = EntityGraph.EntityGraphType.FETCH)
-    Study findStudyWithMembersByPath(String path);
+    @Query("select s.path from Study s where s.path in :paths")
+    List<String> findPathsIn(@Param("paths") Collection<String> paths);
 
-    Study findStudyOnlyByPath(String path);
+    // 조회 화면은 저장할 때 sanitize 해둔 html 만 읽음
+    @Query("select d.html from Study s join s.description d where s.id = :studyId")
+    String findDescriptionHtml(@Param("studyId") Long studyId);
+
+    // 새 스터디 알림을 보낼 대상을 고를 때 태그, 지역 엔티티 없이 id 만 씀
+    @Query("select t.id from Study s join s.tags t where s.id = :studyId")
+    List<Long> findTagIds(@Param("studyId") Long studyId);
+
+    @Query("select z.id from Study s join s.zones z where s.id = :studyId")
+    List<Long> findZoneIds(@Param("studyId") Long studyId);
+
+    // 관리자인 경우만 캐시 (아직 없는 경로를 먼저 조회했다가 그 경로로 스터디를 만든 경우 바로 관리자로 인정되도록)
+    @Cacheable(value = CacheConfig.STUDY_MANAGER_CACHE, key = "#p0 + ':' + #p1", unless = "!#result")
+    @Query("select case when count(s) > 0 then true else false end from Study s join s.managers m " +
+            "where s.path = :path and m.id = :accountId")
+    boolean existsManager(@Param("path") String path, @Param("accountId") Long accountId);
+
+    // 공개, 종료, 이름 변경, 모집 시작/중지는 엔티티를 읽어서 dirty checking 하지 않고 조건부 update 한번으로 처리
+    // 상태 조건을 where 에 넣어서 바뀐 행이 0 이면 바꿀 수 없는 상태. 엔티티를 거치지 않으므로 버전은 직접 올림
+    // 영속성 컨텍스트에 남아있는 예전 상태의 스터디를 다시 읽지 않도록 update 뒤에 비움
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Study s set s.published = true, s.publishedDatetime = :now, s.version = s.version + 1 " +
+            "where s.path = :path and s.published = false and s.closed = false")
+    int publish(@Param("path") String path, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Study s set s.closed = true, s.closeDateTime = :now, s.recruiting = false, s.recruitingEndDateTime = null, " +
+            "s.version = s.version + 1 where s.path = :path and s.published = true and s.closed = false")
+    int close(@Param("path") String path, @Param("now") LocalDateTime now);
+
+    // 공개되고 종료하지 않은 스터디만, 마지막으로 바꾼지 한시간이 지났을 때만 바꿀 수 있음
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    // 직접 시작, 중지하면 예약해둔 모집 종료 시각은 지움 (지난 시각이 남아있으면 다시 시작하자마자 배치가 멈추게 됨)
+    @Query("update Study s set s.recruiting = :recruiting, s.recruitingUpdateDateTime = :now, s.recruitingEndDateTime = null, " +
+            "s.version = s.version + 1 " +
+            "where s.path = :path and s.published = true and s.closed = false " +
+            "and (s.recruitingUpdateDateTime is null or s.recruitingUpdateDateTime < :limit)")
+    int updateRecruiting(@Param("path") String path, @Param("recruiting") boolean recruiting,
+                         @Param("now") LocalDateTime now, @Param("limit") LocalDateTime limit);
+
+    // 모집 중일 때만 모집 종료 시각을 정할 수 있음. null 이면 자동 종료하지 않음
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Study s set s.recruitingEndDateTime = :end, s.version = s.version + 1 " +
+            "where s.path = :path and s.recruiting = true and s.closed = false")
+    int updateRecruitingEnd(@Param("path") String path, @Param("end") LocalDateTime end);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Study s set s.autoClose = :autoClose, s.version = s.version + 1 where s.path = :path and s.closed = false")
+    int updateAutoClose(@Param("path") String path, @Param("autoClose") boolean autoClose);
+
+    /*
+    예약된 상태 변경 배치. 처리할 스터디를 size 개씩 고르고 id 목록으로 한번에 update 함
+    처리된 스터디는 조건에서 빠지므로 offset, keyset 없이 다시 앞에서부터 고르면 다음 묶음이 됨
+    update 에도 상태 조건을 다시 넣어서 그 사이에 관리자가 바꾼 스터디는 건드리지 않음
+     */
+    @Query("select s.id as id, s.path as path from Study s " +
+            "where s.recruiting = true and s.recruitingEndDateTime <= :now order by s.id")
+    List<DueStudy> findRecruitingToStop(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("select s.id as id, s.path as path from Study s " +
+            "where s.published = true and s.closed = false and s.autoClose = true and s.eventCount > 0 " +
+            "and not exists (select e.id from Event e where e.study = s and e.endDateTime > :now) order by s.id")
+    List<DueStudy> findStudiesToClose(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Study s set s.recruiting = false, s.recruitingUpdateDateTime = :now, s.recruitingEndDateTime = null, " +
+            "s.version = s.version + 1 where s.id in :ids and s.recruiting = true and s.recruitingEndDateTime <= :now")
+    int stopRecruitingAll(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Study s set s.closed = true, s.closeDateTime = :now, s.recruiting = false, s.recruitingEndDateTime = null, " +
+            "s.version = s.version + 1 where s.id in :ids and s.published = true and s.closed = false")
+    int closeAll(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    // 서버 여러대가 같은 스터디를 골라도 조건부 update 로 한쪽만 바꾸므로, 바꾼 시각(:now) 이 내 것인 스터디만 후처리함
+    @Query("select s.id as id, s.path as path from Study s " +
+            "where s.id in :ids and s.recruiting = false and s.recruitingUpdateDateTime = :now")
+    List<DueStudy> findRecruitingStoppedAt(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select s.id as id, s.path as path from Study s where s.id in :ids and s.closed = true and s.closeDateTime = :now")
+    List<DueStudy> findClosedAt(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Study s set s.title = :title, s.version = s.version + 1 where s.path = :path")
+    int changeTitle(@Param("path") String path, @Param("title") String title);
+
+    // 구성원 목록은 account id 기준 keyset 페이징 -> offset 없이 (study_id, members_id) 인덱스만 타고 다음 페이지를 읽음
+    @Query("select m.id as id, m.nickname as nickname, m.bio as bio, m.profileImage as profileImage " +
+            "from Study s join s.members m where s.id = :studyId and m.id > :afterId order by m.id")
+    List<StudyMember> findMembersAfter(@Param("studyId") Long studyId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // (study_id, members_id) 가 조인 테이블의 PK 라서 인덱스 한번만 타고 확인
+    @Query("select case when count(s) > 0 then true else false end from Study s join s.members m " +
+            "where s.id = :studyId and m.id = :accountId")
+    boolean existsMember(@Param("studyId") Long studyId, @Param("accountId") Long accountId);
+
+    // members 컬렉션을 로딩해서 비교(diff)하지 않고 조인 행 하나만 직접 넣고 뺌
+    // 같은 계정이 동시에 두번 가입하면 PK 중복으로 실패하고 @RetryOnConflict 로 다시 시도할 때 existsMember 에서 걸러짐
+    @Modifying
+    @Query(value = "insert into study_members (study_id, members_id) values (:studyId, :accountId)", nativeQuery = true)
+    void insertMember(@Param("studyId") Long studyId, @Param("accountId") Long accountId);
+
+    @Modifying
+    @Query(value = "delete from study_members where study_id = :studyId and members_id = :accountId", nativeQuery = true)
+    int deleteMember(@Param("studyId") Long studyId, @Param("accountId") Long accountId);
+
+    // 읽고 더해서 쓰지 않고 DB 에서 바로 증감 -> 동시에 가입, 탈퇴해도 값을 잃어버리지 않음
+    @Modifying
+    @Query("update Study s set s.memberCount = s.memberCount + :delta where s.id = :studyId")
+    void updateMemberCount(@Param("studyId") Long studyId, @Param("delta") int delta);
+
+    // 엔티티가 아닌 값만 읽으므로 영속성 컨텍스트에 남아있는 예전 스터디가 아니라 행의 값이 나옴
+    // updateMemberCount 뒤에 읽으면 행 락을 잡은 상태라 먼저 커밋된 다른 가입까지 반영된 값
+    @Query("select s.memberCount from Study s where s.id = :studyId")
+    int findMemberCount(@Param("studyId") Long studyId);
+
+    @Modifying
+    @Query("update Study s set s.eventCount = s.eventCount + :delta where s.id = :studyId")
+    void updateEventCount(@Param("studyId") Long studyId, @Param("delta") int delta);
+
+    /*
+    홈 화면 추천 스터디. 계정의 관심 주제, 활동 지역과 겹치는 (스터디, 태그), (스터디, 지역) 조인 행을 모아서 스터디별로 센 값으로 정렬
+    스터디 엔티티나 컬렉션을 로딩하지 않고 조인 테이블끼리 한번에 계산함
+     */
+    @Query(value = "select s.id as id, s.path as path, s.title as title, s.short_description as shortDescription, " +
+            "s.published_datetime as publishedDatetime, count(*) as score " +
+            "from study s join (" +
+            "  select st.study_id as study_id from study_tags st join account_tags at on at.tags_id = st.tags_id where at.account_id = :accountId" +
+            "  union all" +
+            "  select sz.study_id as study_id from study_zones sz join account_zones az on az.zones_id = sz.zones_id where az.account_id = :accountId" +
+            ") matched on matched.study_id = s.id " +
+            "where s.published = true and s.recruiting = true and s.closed = false " +
+            "group by s.id, s.path, s.title, s.short_description, s.published_datetime " +
+            "order by score desc, s.published_datetime desc limit :limit", nativeQuery = true)
+    List<StudyFeedItem> findRecommendedStudies(@Param("accountId") Long accountId, @Param("limit") int limit);
 }
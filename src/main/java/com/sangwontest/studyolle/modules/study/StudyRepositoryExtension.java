@@ -0,0 +1,17 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.modules.study.search.StudyDocument;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StudyRepositoryExtension {
+
+    Study findStudyForViewByPath(String path);
+
+    List<StudyDocument> findPublishedDocumentsAfter(Long afterId, int size);
+
+    List<StudyDocument> findPublishedDocuments(List<Long> ids);
+
+    List<StudySummary> findStudySummaries(StudyListCondition condition, LocalDateTime afterPublishedDatetime, Long afterId, int size);
+}
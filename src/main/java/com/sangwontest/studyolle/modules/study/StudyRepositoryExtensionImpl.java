@@ -0,0 +1,156 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.modules.study.search.StudyDocument;
+import org.hibernate.Hibernate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Transactional(readOnly = true)
+public class StudyRepositoryExtensionImpl implements StudyRepositoryExtension {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 조회 화면은 구성원 수를 컬럼으로, 구성원 목록은 페이지 단위로 읽으므로 members 는 로딩하지 않음
+    // 컬렉션을 한번에 조인하면 결과가 tags x zones x managers 행으로 불어나므로 컬렉션마다 쿼리를 한번씩 보냄
+    @Override
+    public Study findStudyForViewByPath(String path) {
+        List<Study> studies = entityManager.createQuery("select s from Study s where s.path = :path", Study.class)
+                .setParameter("path", path)
+                .getResultList();
+        if (studies.isEmpty()) {
+            return null;
+        }
+
+        Study study = studies.get(0);
+        Hibernate.initialize(study.getTags());
+        Hibernate.initialize(study.getZones());
+        Hibernate.initialize(study.getManagers());
+        return study;
+    }
+
+    // 검색 색인을 처음 만들 때 공개된 스터디를 id 순으로 size 개씩 읽음
+    // 상세 소개, 태그, 지역은 묶음 단위로 한번씩 fetch join 해서 스터디마다 쿼리가 나가지 않도록 함
+    @Override
+    public List<StudyDocument> findPublishedDocumentsAfter(Long afterId, int size) {
+        List<Study> studies = entityManager.createQuery(
+                        "select s from Study s left join fetch s.description where s.published = true and s.id > :afterId order by s.id", Study.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(size)
+                .getResultList();
+        return toDocuments(studies);
+    }
+
+    // 배치로 상태를 바꾼 스터디들을 한번에 다시 색인할 때
+    @Override
+    public List<StudyDocument> findPublishedDocuments(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Study> studies = entityManager.createQuery(
+                        "select s from Study s left join fetch s.description where s.published = true and s.id in :ids", Study.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        return toDocuments(studies);
+    }
+
+    private List<StudyDocument> toDocuments(List<Study> studies) {
+        if (studies.isEmpty()) {
+            return List.of();
+        }
+
+        entityManager.createQuery("select distinct s from Study s left join fetch s.tags where s in :studies", Study.class)
+                .setParameter("studies", studies)
+                .getResultList();
+        entityManager.createQuery("select distinct s from Study s left join fetch s.zones where s in :studies", Study.class)
+                .setParameter("studies", studies)
+                .getResultList();
+
+        return studies.stream()
+                .map(study -> StudyDocument.from(study, study.getMemberCount()))
+                .collect(Collectors.toList());
+    }
+
+    /*
+    조건별 스터디 목록. 공개일 최신 순, 같으면 id 큰 순으로 정렬하고 offset 대신 (publishedDatetime, id) keyset 으로 다음 페이지를 읽음
+    -> 뒤쪽 페이지도 Study 의 idx_study_listing 인덱스에서 이어서 읽기만 하면 됨
+    아직 공개하지 않은 스터디는 publishedDatetime 이 null 이라 맨 뒤에 id 순으로 옴 (MariaDB, H2 는 null 을 가장 작은 값으로 정렬)
+    태그, 지역, 관리자 조건은 하나의 id 로만 조인하므로 스터디가 중복되지 않음
+     */
+    @Override
+    public List<StudySummary> findStudySummaries(StudyListCondition condition, LocalDateTime afterPublishedDatetime, Long afterId, int size) {
+        StringBuilder jpql = new StringBuilder("select new com.sangwontest.studyolle.modules.study.StudySummary(" +
+                "s.id, s.path, s.title, s.shortDescription, s.image, s.useBanner, " +
+                "s.publishedDatetime, s.published, s.recruiting, s.closed, s.memberCount) from Study s");
+        List<String> where = new ArrayList<>();
+
+        if (condition.getTagId() != null) {
+            jpql.append(" join s.tags t");
+            where.add("t.id = :tagId");
+        }
+        if (condition.getZoneId() != null) {
+            jpql.append(" join s.zones z");
+            where.add("z.id = :zoneId");
+        }
+        if (condition.getManagerId() != null) {
+            jpql.append(" join s.managers m");
+            where.add("m.id = :managerId");
+        }
+        if (condition.getPublished() != null) {
+            where.add("s.published = :published");
+        }
+        if (condition.getRecruiting() != null) {
+            where.add("s.recruiting = :recruiting");
+        }
+        if (condition.getClosed() != null) {
+            where.add("s.closed = :closed");
+        }
+        if (afterId != null) {
+            where.add(afterPublishedDatetime == null
+                    ? "(s.publishedDatetime is null and s.id < :afterId)"
+                    : "(s.publishedDatetime < :afterPublishedDatetime " +
+                    "or (s.publishedDatetime = :afterPublishedDatetime and s.id < :afterId) " +
+                    "or s.publishedDatetime is null)");
+        }
+
+        if (!where.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", where));
+        }
+        jpql.append(" order by s.publishedDatetime desc, s.id desc");
+
+        TypedQuery<StudySummary> query = entityManager.createQuery(jpql.toString(), StudySummary.class)
+                .setMaxResults(size);
+        if (condition.getTagId() != null) {
+            query.setParameter("tagId", condition.getTagId());
+        }
+        if (condition.getZoneId() != null) {
+            query.setParameter("zoneId", condition.getZoneId());
+        }
+        if (condition.getManagerId() != null) {
+            query.setParameter("managerId", condition.getManagerId());
+        }
+        if (condition.getPublished() != null) {
+            query.setParameter("published", condition.getPublished());
+        }
+        if (condition.getRecruiting() != null) {
+            query.setParameter("recruiting", condition.getRecruiting());
+        }
+        if (condition.getClosed() != null) {
+            query.setParameter("closed", condition.getClosed());
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (afterPublishedDatetime != null) {
+                query.setParameter("afterPublishedDatetime", afterPublishedDatetime);
+            }
+        }
+        return query.getResultList();
+    }
+}
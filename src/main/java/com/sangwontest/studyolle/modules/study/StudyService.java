@@ -1,25 +1,47 @@
 package com.sangwontest.studyolle.modules.study;
 
+import com.sangwontest.studyolle.infra.config.CacheConfig;
+import com.sangwontest.studyolle.infra.image.ImageService;
+import com.sangwontest.studyolle.infra.retry.RetryOnConflict;
 import com.sangwontest.studyolle.modules.account.Account;
 import com.sangwontest.studyolle.modules.study.form.StudyDescriptionForm;
 import com.sangwontest.studyolle.modules.study.form.StudyForm;
 import com.sangwontest.studyolle.modules.study.form.StudyPathForm;
+import com.sangwontest.studyolle.modules.study.search.StudyDocument;
+import com.sangwontest.studyolle.modules.study.search.StudyIndexEvent;
 import com.sangwontest.studyolle.modules.account.Tags;
 import com.sangwontest.studyolle.modules.zone.Zones;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class StudyService {
 
+    public static final int MEMBER_PAGE_SIZE = 20;
+    public static final int FEED_SIZE = 9;
+    public static final int STUDY_PAGE_SIZE = 20;
+
     private final StudyRepository studyRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ImageService imageService;
+    private final StudyManagerAuthorizer studyManagerAuthorizer;
+    private final StudyPathAliases studyPathAliases;
+    private final CacheManager cacheManager;
 
     public Study createNewStudy(StudyForm studyForm, Account account) {
         Study study = new Study();
@@ -29,131 +51,325 @@ public class StudyService {
         return studyRepository.save(study);
     }
 
+    // 관리자 확인을 먼저 exists 쿼리로 하고, 권한이 있을 때만 스터디를 읽음
     public Study getStudyToUpdate(Account account, String path){
-        Study study = this.getStudy(path);
-        checkIfManager(account, study);
+        studyManagerAuthorizer.checkManager(path, account);
+        Study study = studyRepository.findStudyForViewByPath(path);
+        checkIfExistingStudy(path, study);
         return study;
     }
 
-    public Study getStudy(String path) {
-        Study study = this.studyRepository.findByPath(path);
+    //조회 화면용. path로 캐시하고 스터디를 바꾸는 메서드에서 해당 path를 evict 함
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public StudyView getStudyView(String path) {
+        Study study = studyRepository.findStudyForViewByPath(path);
         checkIfExistingStudy(path, study);
+        return StudyView.from(study);
+    }
 
-        return study;
+    //조회 화면의 상세 소개. 소개를 고치면 버전이 바뀌므로 (id, version) 으로 캐시하고 따로 evict 하지 않음
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.STUDY_DESCRIPTION_CACHE, key = "#studyId + ':' + #version")
+    public String getDescriptionHtml(Long studyId, Long version) {
+        return studyRepository.findDescriptionHtml(studyId);
+    }
+
+    //홈 화면 추천 스터디. 계정별로 캐시하고 관심 주제, 활동 지역이 바뀌면 AccountService 에서 evict 함
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.HOME_FEED_CACHE, key = "#accountId")
+    public List<StudyFeedItem> getRecommendedStudies(Long accountId) {
+        return List.copyOf(studyRepository.findRecommendedStudies(accountId, FEED_SIZE));
     }
 
+    // 멤버 목록은 키셋(id) 기준으로 한 페이지씩만 가져옴
+    @Transactional(readOnly = true)
+    public List<StudyMember> getStudyMembers(Long studyId, Long afterId) {
+        return studyRepository.findMembersAfter(studyId, afterId == null ? 0L : afterId, PageRequest.of(0, MEMBER_PAGE_SIZE));
+    }
+
+    // 스터디 목록은 마지막으로 받은 항목의 (공개일, id) 다음부터 한 페이지씩 가져옴. 첫 페이지는 after 가 null
+    @Transactional(readOnly = true)
+    public List<StudySummary> getStudySummaries(StudyListCondition condition, StudySummary after) {
+        return studyRepository.findStudySummaries(condition,
+                after == null ? null : after.getPublishedDatetime(),
+                after == null ? null : after.getId(),
+                STUDY_PAGE_SIZE);
+    }
+
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void updateStudyDescription(Study study, StudyDescriptionForm studyDescriptionForm) {
         study.updateDescription(studyDescriptionForm);
+        reindex(study);
     }
 
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void updateStudyImage(Study study, String image) {
-        study.updateImage(image);
+        study.updateImage(imageService.store(image)); // 엔티티에는 이미지 해시만 저장
+        reindex(study);
     }
 
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void enableStudyBanner(Study study) {
         study.setBanner(true);
+        reindex(study);
     }
 
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void disableStudyBanner(Study study) {
         study.setBanner(false);
+        reindex(study);
     }
 
     public Study getStudyToUpdateTags(Account account, String path) {
-        Study study = studyRepository.findStudyWithTagsByPath(path); // WithTags라는 것은 jpa에서 무시가 된다. 즉 findByPath와 같은 쿼리가 발생함
+        studyManagerAuthorizer.checkManager(path, account);
+        Study study = studyRepository.findStudyWithTagsByPath(path); // WithTags라는 것은 jpa에서 무시가 된다. 즉 path 로만 찾는 쿼리(findStudyOnlyByPath)와 같은 쿼리가 발생함
         //이렇게 사용하는 이유는 다른 엔티티 그래프를 사용하기 위해서 이름을 조금 다르게 지정해줌
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
         return study;
 
     }
 
     public Study getStudyToUpdateZone(Account account, String path) {
+        studyManagerAuthorizer.checkManager(path, account);
         Study study = studyRepository.findStudyWithZonesByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
         return study;
     }
 
+    // 권한은 이미 확인했으므로 managers 를 같이 가져올 필요 없음
     public Study getStudyToUpdateStatus(Account account, String path) {
-        Study study = studyRepository.findStudyWithManagersByPath(path);
+        studyManagerAuthorizer.checkManager(path, account);
+        Study study = studyRepository.findStudyOnlyByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
         return study;
     }
 
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void addTag(Study study, Tags tags) {
         study.getTags().add(tags);
 //        studyRepository.save(study);
+        reindex(study);
     }
 
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void removeTag(Study study, Tags tags) {
         study.getTags().remove(tags);
+        reindex(study);
     }
 
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void addZone(Study study, Zones zones) {
         study.getZones().add(zones);
+        reindex(study);
     }
 
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path")
     public void removeZone(Study study, Zones zones) {
         study.getZones().remove(zones);
+        reindex(study);
     }
 
-    private void checkIfManager(Account account, Study study) {
-        if (!study.isManagerOf(account)) {
-            throw new AccessDeniedException("해당 기능을 사용할 수 없습니다.");
-        }
+    // 검색 색인 갱신. 이벤트는 커밋된 뒤에 반영되므로 롤백된 변경은 색인에 들어가지 않음
+    private void reindex(Study study) {
+        reindex(study, study.getMemberCount());
+    }
+
+    private void reindex(Study study, int memberCount) {
+        StudyDocument document = study.isPublished() ? StudyDocument.from(study, memberCount) : null;
+        eventPublisher.publishEvent(new StudyIndexEvent(study.getId(), document));
     }
 
+    private void reindex(String path) {
+        reindex(studyRepository.findStudyOnlyByPath(path));
+    }
+
+    // 없는 경로면 예전 경로인지 확인해서 지금 경로로 redirect 하도록 StudyMovedException
     private void checkIfExistingStudy(String path, Study study) {
         if (study == null) {
+            studyPathAliases.checkMoved(path);
             throw new IllegalArgumentException(path + "에 해당하는 스터디가 없습니다.");
         }
     }
 
-    public void publish(Study study) {
-        study.publish();
+    // 공개, 종료, 모집 상태, 이름은 엔티티를 읽지 않고 StudyRepository 의 조건부 update 로 바꿈
+    // update 는 영속성 컨텍스트를 거치지 않으므로 색인은 바뀐 뒤 다시 읽어서 갱신
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public void publish(Account account, String path) {
+        studyManagerAuthorizer.checkManager(path, account);
+        if (studyRepository.publish(path, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("스터디를 공개할 수 없는 상태 입니다. 스터디를 이미 공개 했거나 종료했습니다.");
+        }
+        Study study = studyRepository.findStudyOnlyByPath(path);
+        reindex(study);
+        eventPublisher.publishEvent(new StudyCreatedEvent(study.getId()));
+    }
+
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public void close(Account account, String path) {
+        studyManagerAuthorizer.checkManager(path, account);
+        if (studyRepository.close(path, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("스터디를 종료할 수 없습니다. 스터디를 공개하지 않았거나 이미 종료한 스터디입니다.");
+        }
+        Study study = studyRepository.findStudyOnlyByPath(path);
+        reindex(study);
+        eventPublisher.publishEvent(new StudyUpdateEvent(study.getId(), "스터디를 종료했습니다."));
+    }
+
+    // 공개 전이거나 종료했거나 한 시간 안에 이미 바꾼 경우 false
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public boolean stopRecruit(Account account, String path) {
+        return updateRecruiting(account, path, false, "팀원 모집을 종료합니다.");
+    }
+
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public boolean startRecruit(Account account, String path) {
+        return updateRecruiting(account, path, true, "팀원 모집을 시작합니다.");
+    }
+
+    private boolean updateRecruiting(Account account, String path, boolean recruiting, String message) {
+        studyManagerAuthorizer.checkManager(path, account);
+        LocalDateTime now = LocalDateTime.now();
+        if (studyRepository.updateRecruiting(path, recruiting, now, now.minusHours(1)) == 0) {
+            return false;
+        }
+        Study study = studyRepository.findStudyOnlyByPath(path);
+        reindex(study);
+        eventPublisher.publishEvent(new StudyUpdateEvent(study.getId(), message));
+        return true;
+    }
+
+    // 모집 중일 때 모집을 자동으로 멈출 시각을 정함 (null 이면 예약 취소). 지난 시각이거나 모집 중이 아니면 false
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public boolean reserveRecruitingEnd(Account account, String path, LocalDateTime end) {
+        studyManagerAuthorizer.checkManager(path, account);
+        if (end != null && end.isBefore(LocalDateTime.now())) {
+            return false;
+        }
+        // 화면에서 분 단위로 입력받으므로 분 단위로 저장 (배치는 1분마다 돎)
+        return studyRepository.updateRecruitingEnd(path, end == null ? null : end.truncatedTo(ChronoUnit.MINUTES)) > 0;
+    }
+
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public boolean updateAutoClose(Account account, String path, boolean autoClose) {
+        studyManagerAuthorizer.checkManager(path, account);
+        return studyRepository.updateAutoClose(path, autoClose) > 0;
     }
 
-    public void close(Study study) {
-        study.close();
+    /*
+    StudyStateScheduler 가 호출하는 예약된 상태 변경. 한번에 size 개를 한 트랜잭션으로 처리하고 실제로 바꾼 수를 돌려줌
+    엔티티를 읽지 않고 id 목록으로 update 한 뒤, 바뀐 스터디의 조회 캐시를 지우고 색인과 알림 이벤트를 보냄 (커밋 후 반영)
+    다른 서버가 그 사이에 먼저 바꾼 스터디는 update 에서 빠지므로, 일부만 바뀌었으면 바꾼 시각으로 내가 바꾼 스터디만 다시 고름
+    -> 여러 서버가 같이 돌아도 알림을 두번 보내지 않음. 시각은 DB 에 저장되는 정밀도(마이크로초)로 맞춰서 비교함
+     */
+    public int stopDueRecruiting(LocalDateTime now, int size) {
+        LocalDateTime marker = now.truncatedTo(ChronoUnit.MICROS);
+        List<DueStudy> due = studyRepository.findRecruitingToStop(marker, PageRequest.of(0, size));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int updated = studyRepository.stopRecruitingAll(ids(due), marker);
+        List<DueStudy> changed = updated == due.size() ? due
+                : updated == 0 ? List.of() : studyRepository.findRecruitingStoppedAt(ids(due), marker);
+        afterScheduledUpdate(changed, "팀원 모집을 종료합니다.");
+        return changed.size();
     }
 
-    public void stopRecruit(Study study) {
-        study.stopRecruit();
-//        eventPublisher.publishEvent(new StudyUpdateEvent(study, "팀원 모집을 종료합니다."));
+    // 자동 종료를 켠 스터디 중 모임이 있었고 남은 모임이 없는 스터디를 종료
+    public int closeFinishedStudies(LocalDateTime now, int size) {
+        LocalDateTime marker = now.truncatedTo(ChronoUnit.MICROS);
+        List<DueStudy> due = studyRepository.findStudiesToClose(marker, PageRequest.of(0, size));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int updated = studyRepository.closeAll(ids(due), marker);
+        List<DueStudy> changed = updated == due.size() ? due
+                : updated == 0 ? List.of() : studyRepository.findClosedAt(ids(due), marker);
+        afterScheduledUpdate(changed, "마지막 모임이 끝나서 스터디를 종료했습니다.");
+        return changed.size();
     }
 
-    public void startRecruit(Study study) {
-        study.startRecruit();
-//        eventPublisher.publishEvent(new StudyUpdateEvent(study, "팀원 모집을 시작합니다."));
+    private void afterScheduledUpdate(List<DueStudy> due, String message) {
+        if (due.isEmpty()) {
+            return;
+        }
+        Cache studyCache = cacheManager.getCache(CacheConfig.STUDY_CACHE);
+        due.forEach(study -> studyCache.evict(study.getPath()));
+        studyRepository.findPublishedDocuments(ids(due))
+                .forEach(document -> eventPublisher.publishEvent(new StudyIndexEvent(document.getId(), document)));
+        due.forEach(study -> eventPublisher.publishEvent(new StudyUpdateEvent(study.getId(), message)));
+    }
+
+    private List<Long> ids(List<DueStudy> studies) {
+        return studies.stream().map(DueStudy::getId).collect(Collectors.toList());
     }
 
     public boolean isValidTitle(String newTitle) {
         return newTitle.length() <= 50;
     }
 
-    public void changeTitle(Study study, String newTitle) {
-        study.changeTitle(newTitle);
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public void changeTitle(Account account, String path, String newTitle) {
+        studyManagerAuthorizer.checkManager(path, account);
+        studyRepository.changeTitle(path, newTitle);
+        reindex(path);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path", beforeInvocation = true), // 바뀌기 전 path를 지워야 함
+            @CacheEvict(value = CacheConfig.STUDY_MANAGER_CACHE, allEntries = true)
+    })
     public void changePath(Study study, StudyPathForm studyPathForm) {
+        String oldPath = study.getPath();
         study.changePath(studyPathForm.getPath());
+        studyPathAliases.moved(study, oldPath); // 예전 링크는 새 경로로 redirect
+        reindex(study);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#study.path"),
+            @CacheEvict(value = CacheConfig.STUDY_MANAGER_CACHE, allEntries = true)
+    })
     public void remove(Study study) {
         if(study.isRemovable()){
+            studyPathAliases.removed(study);
             studyRepository.delete(study);
+            eventPublisher.publishEvent(new StudyIndexEvent(study.getId(), null));
         } else{
             throw new IllegalArgumentException("스터디를 삭제할 수 없습니다.");
         }
     }
 
-    public void addMember(Study study, Account account) {
-        study.addMember(account);
+    // 충돌해서 다시 시도할 때 새로 읽을 수 있도록 엔티티 대신 path 를 받음
+    @RetryOnConflict
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public Study addMember(String path, Account account) {
+        Study study = getStudyToEnroll(path);
+        if (studyRepository.existsMember(study.getId(), account.getId())) {
+            return study;
+        }
+        // 카운터를 먼저 올려서 스터디 행의 배타 락부터 잡음
+        // 조인 행을 먼저 넣으면 FK 확인으로 스터디 행에 공유 락을 잡고, 동시에 가입한 두 트랜잭션이 서로의 공유 락 때문에 update 를 못해서 데드락이 남
+        studyRepository.updateMemberCount(study.getId(), 1);
+        studyRepository.insertMember(study.getId(), account.getId());
+        study.memberJoined();
+        // 스터디를 읽은 뒤에 다른 가입이 커밋됐으면 메모리의 구성원 수는 예전 값 -> 색인에는 DB 의 값을 넣음
+        reindex(study, studyRepository.findMemberCount(study.getId()));
+        eventPublisher.publishEvent(new StudyActivityEvent(study.getId(), StudyActivityType.JOIN, LocalDateTime.now()));
+        return study;
     }
 
-    public void leaveMember(Study study, Account account) {
-        study.removeMember(account);
+    @RetryOnConflict
+    @CacheEvict(value = CacheConfig.STUDY_CACHE, key = "#path")
+    public Study leaveMember(String path, Account account) {
+        Study study = getStudyToEnroll(path);
+        if (studyRepository.deleteMember(study.getId(), account.getId()) > 0) {
+            studyRepository.updateMemberCount(study.getId(), -1);
+            study.memberLeft();
+            reindex(study, studyRepository.findMemberCount(study.getId()));
+            eventPublisher.publishEvent(new StudyActivityEvent(study.getId(), StudyActivityType.LEAVE, LocalDateTime.now()));
+        }
+        return study;
     }
 
     public Study getStudyToEnroll(String path) {
@@ -2,6 +2,7 @@ package com.sangwontest.studyolle.modules.study;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sangwontest.studyolle.infra.image.ImageService;
 import com.sangwontest.studyolle.modules.account.CurrentUser;
 import com.sangwontest.studyolle.modules.account.TagForm;
 import com.sangwontest.studyolle.modules.account.Account;
@@ -16,6 +17,7 @@ import com.sangwontest.studyolle.modules.zone.ZoneRepository;
 import com.sangwontest.studyolle.modules.zone.Zones;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -27,6 +29,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import javax.validation.Valid;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -42,6 +45,8 @@ public class StudySettingController {
     private final ZoneRepository zoneRepository;
     private final ObjectMapper objectMapper;
     private final StudyPathValidator studyPathValidator;
+    private final StudyPathAliases studyPathAliases;
+    private final ImageService imageService;
 
     @InitBinder("studyPathForm") // <- 이러한 값이 들어오면
     public void studyFormInitBinder(WebDataBinder webDataBinder) {
@@ -60,30 +65,26 @@ public class StudySettingController {
 
     @PostMapping("/study/publish")
     public String publishStudy(@CurrentUser Account account, @PathVariable String path, RedirectAttributes redirectAttributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
-        studyService.publish(study);
+        studyService.publish(account, path);
         redirectAttributes.addFlashAttribute("message", "스터디를 공개했습니다.");
         return "redirect:/study/" + encode(path) + "/settings/study";
     }
 
     @PostMapping("/study/close")
     public String CloseStudy(@CurrentUser Account account, @PathVariable String path, RedirectAttributes redirectAttributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
-        studyService.close(study);
+        studyService.close(account, path);
         redirectAttributes.addFlashAttribute("message", "스터디를 종료했습니다.");
         return "redirect:/study/" + encode(path) + "/settings/study";
     }
 
     @PostMapping("/study/title")
     public String changeStudyTitle(@CurrentUser Account account, @PathVariable String path, @RequestParam String newTitle, Model model, RedirectAttributes redirectAttributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
         if (!studyService.isValidTitle(newTitle)) {
-            model.addAttribute(study);
             model.addAttribute(account);
             model.addAttribute("studyTitleError", "스터디 이름을 다시 입력하세요");
             return "redirect:/study/" + encode(path) + "/settings/study";
         }
-        studyService.changeTitle(study, newTitle);
+        studyService.changeTitle(account, path, newTitle);
         redirectAttributes.addFlashAttribute("message", "스터디 이름을 수정했습니다.");
 
         return "redirect:/study/" + encode(path) + "/settings/study";
@@ -92,11 +93,15 @@ public class StudySettingController {
     @PostMapping("/study/path")
     public String changeStudyPath(@CurrentUser Account account, @Valid StudyPathForm studyPathForm, Errors errors, @PathVariable String path,  Model model, RedirectAttributes redirectAttributes) {
         Study study = studyService.getStudyToUpdateStatus(account, path);
+        // 다른 스터디의 예전 경로는 쓸 수 없음 (예전 링크가 엉뚱한 스터디로 연결되지 않도록). 이 스터디의 예전 경로로는 되돌릴 수 있음
+        if (!errors.hasErrors() && studyPathAliases.isAliasOfOtherStudy(studyPathForm.getPath(), study.getId())) {
+            errors.rejectValue("path", "wrong.path", "입력하신 URL을 사용하실 수 없습니다.");
+        }
         if (errors.hasErrors()) {
             model.addAttribute(study);
             model.addAttribute(account);
             model.addAttribute("studyPathError", "스터디 경로를 다시 입력하세요");
-            return "redirect:/study/" + encode(studyPathForm.getPath()) + "/settings/study";
+            return "redirect:/study/" + encode(path) + "/settings/study";
         }
         studyService.changePath(study, studyPathForm);
         redirectAttributes.addFlashAttribute("message", "스터디 경로를 수정했습니다.");
@@ -114,30 +119,66 @@ public class StudySettingController {
     //팀원 모집
     @PostMapping("/recruit/start")
     public String startRecruit(@CurrentUser Account account, @PathVariable String path, Model model, RedirectAttributes redirectAttributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
-        if(!study.canUpdateRecruiting()){
-            redirectAttributes.addFlashAttribute("message", "1시간 안에 인원모집 설정을 여러번 변경 할 수 없습니다.");
+        if (!studyService.startRecruit(account, path)) {
+            redirectAttributes.addFlashAttribute("message", recruitFailureMessage(path));
             return "redirect:/study/" + encode(path) + "/settings/study";
         }
 
-        studyService.startRecruit(study);
         redirectAttributes.addFlashAttribute("message", "인원모집을 시작합니다.");
         return "redirect:/study/" + encode(path) + "/settings/study";
     }
 
     @PostMapping("/recruit/stop")
     public String stopRecruit(@CurrentUser Account account, @PathVariable String path, Model model, RedirectAttributes redirectAttributes) {
-        Study study = studyService.getStudyToUpdate(account, path);
-        if(!study.canUpdateRecruiting()){
-            redirectAttributes.addFlashAttribute("message", "1시간 안에 인원모집 설정을 여러번 변경 할 수 없습니다.");
+        if (!studyService.stopRecruit(account, path)) {
+            redirectAttributes.addFlashAttribute("message", recruitFailureMessage(path));
             return "redirect:/study/" + encode(path) + "/settings/study";
         }
 
-        studyService.stopRecruit(study);
         redirectAttributes.addFlashAttribute("message", "인원모집을 종료합니다.");
         return "redirect:/study/" + encode(path) + "/settings/study";
     }
 
+    // 모집 상태를 바꾸지 못한 이유. 실패한 경우에만 스터디 상태를 읽어서 확인함
+    private String recruitFailureMessage(String path) {
+        Study study = studyService.getStudyToEnroll(path);
+        if (!study.isPublished()) {
+            return "스터디를 공개한 뒤에 인원모집을 변경할 수 있습니다.";
+        }
+        if (study.isClosed()) {
+            return "종료한 스터디는 인원모집을 변경할 수 없습니다.";
+        }
+        return "1시간 안에 인원모집 설정을 여러번 변경 할 수 없습니다.";
+    }
+
+    // 모집 자동 종료 예약. 값이 없으면 예약을 취소함
+    @PostMapping("/recruit/end")
+    public String reserveRecruitingEnd(@CurrentUser Account account, @PathVariable String path,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime recruitingEndDateTime,
+                                       RedirectAttributes redirectAttributes) {
+        if (!studyService.reserveRecruitingEnd(account, path, recruitingEndDateTime)) {
+            redirectAttributes.addFlashAttribute("message", "모집 중인 스터디에 지금 이후의 시각으로만 예약할 수 있습니다.");
+            return "redirect:/study/" + encode(path) + "/settings/study";
+        }
+
+        redirectAttributes.addFlashAttribute("message", recruitingEndDateTime == null
+                ? "인원모집 자동 종료를 취소했습니다." : "인원모집 자동 종료를 예약했습니다.");
+        return "redirect:/study/" + encode(path) + "/settings/study";
+    }
+
+    @PostMapping("/study/auto-close")
+    public String updateAutoClose(@CurrentUser Account account, @PathVariable String path, @RequestParam boolean autoClose,
+                                  RedirectAttributes redirectAttributes) {
+        if (!studyService.updateAutoClose(account, path, autoClose)) {
+            redirectAttributes.addFlashAttribute("message", "이미 종료한 스터디입니다.");
+            return "redirect:/study/" + encode(path) + "/settings/study";
+        }
+
+        redirectAttributes.addFlashAttribute("message", autoClose
+                ? "마지막 모임이 끝나면 스터디를 자동으로 종료합니다." : "스터디 자동 종료를 취소했습니다.");
+        return "redirect:/study/" + encode(path) + "/settings/study";
+    }
+
 
     @GetMapping("/tags")
     public String studyTagsForm(@CurrentUser Account account, @PathVariable String path, Model model) throws JsonProcessingException {
@@ -238,6 +279,10 @@ public class StudySettingController {
     public String studyImageSubmit(@CurrentUser Account account, @PathVariable String path,
                                    String image, RedirectAttributes attributes) {
         Study study = studyService.getStudyToUpdate(account, path);
+        if (!imageService.isAcceptable(image)) {
+            attributes.addFlashAttribute("message", "이미지 형식이 올바르지 않습니다. 다시 선택하세요.");
+            return "redirect:/study/" + encode(path) + "/settings/banner";
+        }
         studyService.updateStudyImage(study, image);
         attributes.addFlashAttribute("message", "스터디 이미지를 수정했습니다.");
 
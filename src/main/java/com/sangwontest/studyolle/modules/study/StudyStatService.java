@@ -0,0 +1,33 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.infra.retry.RetryOnConflict;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StudyStatService {
+
+    public static final int DAILY_STAT_DAYS = 30;
+
+    private final StudyDailyStatRepository studyDailyStatRepository;
+
+    // 그날 행이 없으면 만듦. 다른 서버가 같은 행을 동시에 만들면 유니크 제약에 걸리고 다시 시도할 때 update 로 더해짐
+    @RetryOnConflict
+    public void add(Long studyId, LocalDate statDate, int joins, int leaves, int enrollments) {
+        if (studyDailyStatRepository.increment(studyId, statDate, joins, leaves, enrollments) == 0) {
+            studyDailyStatRepository.saveAndFlush(new StudyDailyStat(studyId, statDate, joins, leaves, enrollments));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudyDailyStat> getDailyStats(Long studyId, LocalDate today) {
+        return studyDailyStatRepository.findByStudyIdAndStatDateGreaterThanEqualOrderByStatDateDesc(
+                studyId, today.minusDays(DAILY_STAT_DAYS - 1));
+    }
+}
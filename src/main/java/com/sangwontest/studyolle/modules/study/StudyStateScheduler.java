@@ -0,0 +1,45 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/*
+예약된 스터디 상태 변경 (모집 종료 시각, 마지막 모임 후 자동 종료) 을 1분마다 처리
+CHUNK_SIZE 개씩 StudyService 에서 한 트랜잭션으로 update 하므로 처리할 스터디가 많아도 트랜잭션이 길어지지 않음
+update 에 상태 조건이 들어있어서 서버가 여러대라 같이 돌아도 같은 스터디를 두번 바꾸지 않고, 후처리(알림, 색인)는 실제로 바꾼 서버만 함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyStateScheduler {
+
+    static final int CHUNK_SIZE = 100;
+
+    private final StudyService studyService;
+
+    @Scheduled(cron = "0 * * * * *")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int stopped = 0;
+        int processed;
+        do {
+            processed = studyService.stopDueRecruiting(now, CHUNK_SIZE);
+            stopped += processed;
+        } while (processed == CHUNK_SIZE);
+
+        int closed = 0;
+        do {
+            processed = studyService.closeFinishedStudies(now, CHUNK_SIZE);
+            closed += processed;
+        } while (processed == CHUNK_SIZE);
+
+        if (stopped > 0 || closed > 0) {
+            log.info("scheduled study updates : recruiting stopped {}, closed {}", stopped, closed);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+//스터디 목록 한 건. fullDescription 같은 큰 컬럼과 컬렉션은 읽지 않고 목록에 필요한 값만 select new 로 가져옴
+//다음 페이지는 마지막 항목의 (publishedDatetime, id) 를 넘겨서 이어서 읽음
+@Getter
+public class StudySummary {
+
+    private final Long id;
+    private final String path;
+    private final String title;
+    private final String shortDescription;
+    private final String image;
+    private final boolean useBanner;
+    private final LocalDateTime publishedDatetime;
+    private final boolean published;
+    private final boolean recruiting;
+    private final boolean closed;
+    private final int memberCount;
+
+    public StudySummary(Long id, String path, String title, String shortDescription, String image, boolean useBanner,
+                        LocalDateTime publishedDatetime, boolean published, boolean recruiting, boolean closed, int memberCount) {
+        this.id = id;
+        this.path = path;
+        this.title = title;
+        this.shortDescription = shortDescription;
+        this.image = image;
+        this.useBanner = useBanner;
+        this.publishedDatetime = publishedDatetime;
+        this.published = published;
+        this.recruiting = recruiting;
+        this.closed = closed;
+        this.memberCount = memberCount;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sangwontest.studyolle.modules.study;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//스터디 상태가 바뀐 것을 구성원에게 알리기 위한 이벤트. 커밋된 뒤 StudyEventListener 가 비동기로 처리
+//리스너는 다른 스레드, 다른 트랜잭션에서 돌기 때문에 엔티티 대신 id 를 넘김
+@Getter
+@RequiredArgsConstructor
+public class StudyUpdateEvent {
+
+    private final Long studyId;
+
+    private final String message;
+}
@@ -0,0 +1,90 @@
+package com.sangwontest.studyolle.modules.study;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.account.UserAccount;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import lombok.Getter;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//스터디 조회 화면(소개, 구성원, 모임)에서 쓰는 읽기 전용 스냅샷
+//엔티티는 영속성 컨텍스트에 묶여있어서 캐시에 넣을 수 없기 때문에 화면에 필요한 값만 복사해서 캐시함
+@Getter
+public class StudyView {
+
+    private final Long id;
+    private final Long version; // 상세 소개 캐시 키 (StudyService.getDescriptionHtml)
+    private final String path;
+    private final String title;
+    private final String shortDescription;
+    private final String image;
+    private final LocalDateTime publishedDatetime;
+    private final boolean recruiting;
+    private final boolean published;
+    private final boolean closed;
+    private final boolean useBanner;
+    private final List<Tags> tags;
+    private final List<Zones> zones;
+    private final List<Member> managers;
+    private final int memberCount; // 구성원 목록은 StudyService.getStudyMembers 로 페이지 단위로 조회
+
+    private StudyView(Study study) {
+        this.id = study.getId();
+        this.version = study.getVersion();
+        this.path = study.getPath();
+        this.title = study.getTitle();
+        this.shortDescription = study.getShortDescription();
+        this.image = study.getImage();
+        this.publishedDatetime = study.getPublishedDatetime();
+        this.recruiting = study.isRecruiting();
+        this.published = study.isPublished();
+        this.closed = study.isClosed();
+        this.useBanner = study.isUseBanner();
+        this.tags = List.copyOf(study.getTags());
+        this.zones = List.copyOf(study.getZones());
+        this.managers = toMembers(study.getManagers());
+        this.memberCount = study.getMemberCount();
+    }
+
+    public static StudyView from(Study study) {
+        return new StudyView(study);
+    }
+
+    public boolean isManager(UserAccount userAccount) {
+        return contains(this.managers, userAccount);
+    }
+
+    public String getEncodePath() {
+        return URLEncoder.encode(this.path, StandardCharsets.UTF_8);
+    }
+
+    private static boolean contains(List<Member> accounts, UserAccount userAccount) {
+        return accounts.stream().anyMatch(member -> member.getId().equals(userAccount.getAccountId()));
+    }
+
+    private static List<Member> toMembers(Set<Account> accounts) {
+        return accounts.stream().map(Member::new).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Getter
+    public static class Member implements StudyMember {
+
+        private final Long id;
+        private final String nickname;
+        private final String bio;
+        private final String profileImage;
+
+        private Member(Account account) {
+            this.id = account.getId();
+            this.nickname = account.getNickname();
+            this.bio = account.getBio();
+            this.profileImage = account.getProfileImage();
+        }
+    }
+}
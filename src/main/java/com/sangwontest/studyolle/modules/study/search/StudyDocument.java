@@ -0,0 +1,57 @@
+package com.sangwontest.studyolle.modules.study.search;
+
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//검색 색인에 들어가는 스터디 한 건. 검색 결과 화면에 필요한 값과 색인에 넣은 term 목록을 같이 들고 있음
+@Getter
+public class StudyDocument {
+
+    private final Long id;
+    private final String path;
+    private final String title;
+    private final String shortDescription;
+    private final String image;
+    private final boolean useBanner;
+    private final boolean recruiting;
+    private final boolean closed;
+    private final LocalDateTime publishedDatetime;
+    private final long memberCount;
+    private final List<String> tags;
+    private final List<String> zones;
+    private final Set<String> terms; // 문서를 다시 색인하거나 지울 때 포스팅에서 빼기 위해 보관
+
+    private StudyDocument(Study study, long memberCount) {
+        this.id = study.getId();
+        this.path = study.getPath();
+        this.title = study.getTitle();
+        this.shortDescription = study.getShortDescription();
+        this.image = study.getImage();
+        this.useBanner = study.isUseBanner();
+        this.recruiting = study.isRecruiting();
+        this.closed = study.isClosed();
+        this.publishedDatetime = study.getPublishedDatetime();
+        this.memberCount = memberCount;
+        this.tags = study.getTags().stream().map(Tags::getTitle).sorted().collect(Collectors.toUnmodifiableList());
+        this.zones = study.getZones().stream().map(Zones::getLocalNameOfCity).sorted().collect(Collectors.toUnmodifiableList());
+
+        StringBuilder text = new StringBuilder()
+                .append(title).append(' ')
+                .append(shortDescription).append(' ')
+                .append(StudySearchTokenizer.stripHtml(study.getFullDescription()));
+        tags.forEach(tag -> text.append(' ').append(tag));
+        study.getZones().forEach(zone -> text.append(' ').append(zone.getCity()).append(' ').append(zone.getLocalNameOfCity()));
+        this.terms = StudySearchTokenizer.indexTerms(text.toString());
+    }
+
+    public static StudyDocument from(Study study, long memberCount) {
+        return new StudyDocument(study, memberCount);
+    }
+}
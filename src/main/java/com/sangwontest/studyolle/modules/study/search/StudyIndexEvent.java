@@ -0,0 +1,14 @@
+package com.sangwontest.studyolle.modules.study.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//스터디가 바뀐 뒤 커밋되면 색인에 반영. document 가 null 이면 검색 대상이 아니므로 색인에서 지움
+@Getter
+@RequiredArgsConstructor
+public class StudyIndexEvent {
+
+    private final Long studyId;
+
+    private final StudyDocument document;
+}
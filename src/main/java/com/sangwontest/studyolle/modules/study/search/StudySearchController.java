@@ -0,0 +1,34 @@
+package com.sangwontest.studyolle.modules.study.search;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.CurrentUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+
+@Controller
+@RequiredArgsConstructor
+public class StudySearchController {
+
+    private final StudySearchIndex studySearchIndex;
+
+    @GetMapping("/search/study")
+    public String searchStudy(@CurrentUser Account account, String keyword, Model model,
+                              @PageableDefault(size = 9, sort = StudySearchIndex.SORT_PUBLISHED, direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<StudyDocument> studyPage = studySearchIndex.search(keyword, pageable);
+
+        if (account != null) {
+            model.addAttribute(account);
+        }
+        model.addAttribute("studyPage", studyPage);
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("sortProperty", pageable.getSort().getOrderFor(StudySearchIndex.SORT_MEMBER_COUNT) != null
+                ? StudySearchIndex.SORT_MEMBER_COUNT : StudySearchIndex.SORT_PUBLISHED);
+        return "search";
+    }
+}
@@ -0,0 +1,175 @@
+package com.sangwontest.studyolle.modules.study.search;
+
+import com.sangwontest.studyolle.modules.study.search.StudySearchTokenizer.QueryTerm;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+공개된 스터디를 메모리에 올려둔 역색인 (term -> 스터디 id 목록)
+검색할 때마다 DB 에서 like 검색을 하면 스터디 수에 비례해서 느려지므로 term 별 포스팅만 교집합해서 찾음
+스터디가 바뀌면 StudyService 가 StudyIndexEvent 를 발행하고, 커밋된 뒤에 해당 스터디만 다시 색인함
+ */
+@Component
+public class StudySearchIndex {
+
+    public static final String SORT_PUBLISHED = "publishedDatetime";
+    public static final String SORT_MEMBER_COUNT = "memberCount";
+
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, StudyDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudyIndexEvent(StudyIndexEvent event) {
+        if (event.getDocument() == null) {
+            remove(event.getStudyId());
+        } else {
+            index(event.getDocument());
+        }
+    }
+
+    public void index(StudyDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.getId());
+            documents.put(document.getId(), document);
+            for (String term : document.getTerms()) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(document.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long studyId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(studyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 검색어의 모든 term 을 포함하는 스터디만 (AND) 정렬 기준으로 한 페이지 만큼 돌려줌
+    public Page<StudyDocument> search(String keyword, Pageable pageable) {
+        Comparator<StudyDocument> order = comparator(pageable.getSort());
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+
+        lock.readLock().lock();
+        try {
+            List<QueryTerm> queryTerms = StudySearchTokenizer.queryTerms(keyword);
+            Collection<Long> ids = queryTerms.isEmpty() ? documents.keySet() : match(queryTerms);
+
+            // 전체를 정렬하지 않고 limit 개만 남기는 힙으로 상위 결과만 고름
+            PriorityQueue<StudyDocument> top = new PriorityQueue<>(Math.max(1, Math.min(limit, ids.size())), order.reversed());
+            for (Long id : ids) {
+                top.offer(documents.get(id));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<StudyDocument> sorted = new ArrayList<>(top);
+            sorted.sort(order);
+            List<StudyDocument> content = pageable.getOffset() >= sorted.size()
+                    ? List.of() : sorted.subList((int) pageable.getOffset(), sorted.size());
+            return new PageImpl<>(content, pageable, ids.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> match(List<QueryTerm> queryTerms) {
+        List<Set<Long>> matches = new ArrayList<>(queryTerms.size());
+        for (QueryTerm queryTerm : queryTerms) {
+            Set<Long> ids = lookup(queryTerm);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            matches.add(ids);
+        }
+
+        // 가장 작은 포스팅부터 교집합
+        matches.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(matches.get(0));
+        for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+            result.retainAll(matches.get(i));
+        }
+        return result;
+    }
+
+    private Set<Long> lookup(QueryTerm queryTerm) {
+        if (!queryTerm.prefix) {
+            return postings.getOrDefault(queryTerm.text, Collections.emptySet());
+        }
+
+        NavigableMap<String, Set<Long>> range = postings.subMap(queryTerm.text, true, queryTerm.text + Character.MAX_VALUE, false);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue();
+        }
+        Set<Long> ids = new HashSet<>();
+        range.values().forEach(ids::addAll);
+        return ids;
+    }
+
+    private void removeDocument(Long studyId) {
+        StudyDocument old = documents.remove(studyId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.getTerms()) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null && ids.remove(studyId) && ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // 공개일 또는 구성원 수 기준, 기본은 최신 공개 순. 같으면 id 가 큰 (최근에 만든) 스터디가 먼저
+    private Comparator<StudyDocument> comparator(Sort sort) {
+        Sort.Order memberCount = sort.getOrderFor(SORT_MEMBER_COUNT);
+        Sort.Order published = sort.getOrderFor(SORT_PUBLISHED);
+
+        Comparator<StudyDocument> order;
+        if (memberCount != null) {
+            order = Comparator.comparingLong(StudyDocument::getMemberCount);
+            if (memberCount.isDescending()) {
+                order = order.reversed();
+            }
+        } else {
+            order = Comparator.comparing(StudyDocument::getPublishedDatetime, Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (published == null || published.isDescending()) {
+                order = order.reversed();
+            }
+        }
+        return order.thenComparing(StudyDocument::getId, Comparator.reverseOrder());
+    }
+}
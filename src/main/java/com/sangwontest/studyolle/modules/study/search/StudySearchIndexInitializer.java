@@ -0,0 +1,37 @@
+package com.sangwontest.studyolle.modules.study.search;
+
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//애플리케이션이 뜰 때 공개된 스터디 전체를 색인. 이후 변경은 StudyIndexEvent 로 한 건씩 반영됨
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudySearchIndexInitializer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final StudyRepository studyRepository;
+    private final StudySearchIndex studySearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long afterId = 0L;
+        List<StudyDocument> documents;
+        do {
+            documents = studyRepository.findPublishedDocumentsAfter(afterId, BATCH_SIZE);
+            documents.forEach(studySearchIndex::index);
+            if (!documents.isEmpty()) {
+                afterId = documents.get(documents.size() - 1).getId();
+            }
+        } while (documents.size() == BATCH_SIZE);
+
+        log.info("study search index built : {} studies", studySearchIndex.size());
+    }
+}
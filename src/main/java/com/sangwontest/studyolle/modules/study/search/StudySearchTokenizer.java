@@ -0,0 +1,107 @@
+package com.sangwontest.studyolle.modules.study.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/*
+한글은 띄어쓰기 단위로 자르면 "강남구"로 "강남"을 찾을 수 없으므로 음절 2개씩 겹쳐 자른 bigram 으로 색인함 (강남구 -> 강남, 남구)
+한 글자 짜리는 그대로 색인하고, 검색할 때는 그 글자로 시작하는 term 을 모두 찾음
+영문, 숫자는 소문자로 바꾼 단어 단위로 색인하고 검색어는 접두어로 찾음 (spr -> spring)
+ */
+final class StudySearchTokenizer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>|&[a-zA-Z0-9#]+;");
+
+    private StudySearchTokenizer() {
+    }
+
+    static String stripHtml(String html) {
+        return html == null ? "" : HTML_TAG.matcher(html).replaceAll(" ");
+    }
+
+    static Set<String> indexTerms(String text) {
+        Set<String> terms = new HashSet<>();
+        for (Token token : tokenize(text)) {
+            if (token.hangul && token.text.length() > 1) {
+                terms.addAll(bigrams(token.text));
+            } else {
+                terms.add(token.text);
+            }
+        }
+        return terms;
+    }
+
+    static List<QueryTerm> queryTerms(String keyword) {
+        List<QueryTerm> terms = new ArrayList<>();
+        for (Token token : tokenize(keyword)) {
+            if (token.hangul && token.text.length() > 1) {
+                bigrams(token.text).forEach(bigram -> terms.add(new QueryTerm(bigram, false)));
+            } else {
+                terms.add(new QueryTerm(token.text, true));
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> bigrams(String text) {
+        List<String> bigrams = new ArrayList<>(text.length() - 1);
+        for (int i = 0; i < text.length() - 1; i++) {
+            bigrams.add(text.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    // 한글 음절이 이어진 구간과 그 외 글자, 숫자가 이어진 구간을 각각 하나의 토큰으로 자름
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        boolean hangul = false;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean letter = Character.isLetterOrDigit(c);
+            boolean isHangul = letter && isHangulSyllable(c);
+            if (start >= 0 && (!letter || isHangul != hangul)) {
+                tokens.add(new Token(lower.substring(start, i), hangul));
+                start = -1;
+            }
+            if (letter && start < 0) {
+                start = i;
+                hangul = isHangul;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static class Token {
+        private final String text;
+        private final boolean hangul;
+
+        private Token(String text, boolean hangul) {
+            this.text = text;
+            this.hangul = hangul;
+        }
+    }
+
+    static class QueryTerm {
+        final String text;
+        final boolean prefix;
+
+        QueryTerm(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+    }
+}
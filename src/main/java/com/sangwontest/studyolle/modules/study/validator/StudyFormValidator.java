@@ -1,5 +1,6 @@
 package com.sangwontest.studyolle.modules.study.validator;
 
+import com.sangwontest.studyolle.modules.study.StudyPathAliases;
 import com.sangwontest.studyolle.modules.study.StudyRepository;
 import com.sangwontest.studyolle.modules.study.form.StudyForm;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,7 @@ import org.springframework.validation.Validator;
 public class StudyFormValidator implements Validator {
 
     private final StudyRepository studyRepository;
+    private final StudyPathAliases studyPathAliases;
 
     @Override
     public boolean supports(Class<?> clazz) {
@@ -21,7 +23,8 @@ public class StudyFormValidator implements Validator {
     @Override
     public void validate(Object target, Errors errors) {
         StudyForm studyForm = (StudyForm) target;
-        if (studyRepository.existsByPath(studyForm.getPath())) {
+        // 다른 스터디의 예전 경로도 쓸 수 없음 (예전 링크가 엉뚱한 스터디로 연결되지 않도록)
+        if (studyRepository.existsByPath(studyForm.getPath()) || studyPathAliases.isAlias(studyForm.getPath())) {
             errors.rejectValue("path", "wrong.path", "입력하신 URL을 사용하실 수 없습니다.");
         }
 
@@ -21,6 +21,7 @@ public class StudyPathValidator implements Validator {
     @Override
     public void validate(Object target, Errors errors) {
         StudyPathForm studyPathForm = (StudyPathForm) target;
+        // 예전 경로는 어느 스터디의 것인지 알아야 하므로 StudySettingController 에서 스터디를 읽은 뒤 확인함
         if (studyRepository.existsByPath(studyPathForm.getPath())) {
             errors.rejectValue("path", "wrong.path", "입력하신 URL을 사용하실 수 없습니다.");
         }
@@ -0,0 +1,13 @@
+-- 이미지 저장소를 쓰기 전의 배너(study.image), 프로필 사진(account.profile_image)에는 data url 이 그대로 들어있음
+-- 지금 화면은 컬럼 값을 /image/{hash} 로만 그리므로 옮기지 않은 이미지는 깨져 보임
+-- base64 를 풀어 파일로 저장하는 일은 SQL 로 할 수 없으므로 애플리케이션을 한번 --app.image-backfill=true 로 띄워서 옮김 (DataUrlImageBackfill)
+-- 형식이 허용되지 않는 이미지는 NULL(기본 이미지)로 바뀜. 여러번 실행해도 됨
+
+-- 1. 옮긴 뒤 남은 data url 이 없는지 확인 (둘 다 0 이어야 함)
+SELECT COUNT(*) FROM study WHERE image LIKE 'data:image/%';
+SELECT COUNT(*) FROM account WHERE profile_image LIKE 'data:image/%';
+
+-- 2. 예전 컬럼은 data url 을 담던 큰 타입으로 남아있으므로 엔티티(@Column(length = 64))에 맞춰 줄임
+--    data url 이 남아있으면 strict 모드에서 실패하므로 1 을 확인한 뒤에 실행
+ALTER TABLE study MODIFY image VARCHAR(64);
+ALTER TABLE account MODIFY profile_image VARCHAR(64);
@@ -0,0 +1,20 @@
+-- 신청 순서(enrollment.position) 컬럼이 생기기 전에 들어간 신청은 모두 0 이라 대기 순서가 정해지지 않음
+-- 모임마다 예전 신청은 신청 시각(enrolled_at), id 순서로, 그 뒤에 새 번호를 받은 신청을 원래 순서대로 1 부터 다시 매기고
+-- 모임의 마지막 번호(last_enrollment_position)를 맞춰줌
+-- position 이 0 인 신청이 남아있는 모임만 고치므로 여러번 실행해도 됨. 신청을 받지 않는 시간에 한번 실행
+
+UPDATE enrollment e
+    JOIN (SELECT id,
+                 ROW_NUMBER() OVER (PARTITION BY event_id ORDER BY position > 0, position, enrolled_at, id) AS new_position
+          FROM enrollment
+          WHERE event_id IN (SELECT event_id FROM enrollment WHERE position = 0)) ordered
+    ON e.id = ordered.id
+SET e.position = ordered.new_position;
+
+UPDATE event ev
+    JOIN (SELECT event_id, MAX(position) AS last_position
+          FROM enrollment
+          GROUP BY event_id) last
+    ON ev.id = last.event_id
+SET ev.last_enrollment_position = last.last_position
+WHERE ev.last_enrollment_position < last.last_position;
@@ -0,0 +1,20 @@
+-- 대기자 확정 순서(enrollment_promotion.sequence) 컬럼이 생기기 전의 확정 기록은 모두 0 이라 순서가 정해지지 않음
+-- 모임마다 예전 기록을 id 순서로, 그 뒤에 새 번호를 받은 기록을 원래 순서대로 1 부터 다시 매기고
+-- 모임의 마지막 번호(last_promotion_sequence)를 맞춰줌
+-- sequence 가 0 인 기록이 남아있는 모임만 고치므로 여러번 실행해도 됨. 신청을 받지 않는 시간에 한번 실행
+
+UPDATE enrollment_promotion p
+    JOIN (SELECT id,
+                 ROW_NUMBER() OVER (PARTITION BY event_id ORDER BY sequence > 0, sequence, id) AS new_sequence
+          FROM enrollment_promotion
+          WHERE event_id IN (SELECT event_id FROM enrollment_promotion WHERE sequence = 0)) ordered
+    ON p.id = ordered.id
+SET p.sequence = ordered.new_sequence;
+
+UPDATE event ev
+    JOIN (SELECT event_id, MAX(sequence) AS last_sequence
+          FROM enrollment_promotion
+          GROUP BY event_id) last
+    ON ev.id = last.event_id
+SET ev.last_promotion_sequence = last.last_sequence
+WHERE ev.last_promotion_sequence < last.last_sequence;
@@ -0,0 +1,15 @@
+-- 모임의 신청 수 카운터(accepted_count, waiting_count, attended_count)가 생기기 전의 모임은 모두 0 으로 시작함
+-- 그대로 두면 이미 정원이 찬 선착순 모임이 정원만큼 더 확정하고, 취소할 때마다 카운터가 음수가 되므로 enrollment 에서 다시 셈
+-- 모든 모임을 enrollment 기준으로 다시 맞추므로 여러번 실행해도 됨. 카운터 컬럼이 생긴 뒤, 신청을 받기 전에 한번 실행
+
+UPDATE event ev
+    LEFT JOIN (SELECT event_id,
+                      SUM(CASE WHEN accepted THEN 1 ELSE 0 END)     AS accepted,
+                      SUM(CASE WHEN accepted THEN 0 ELSE 1 END)     AS waiting,
+                      SUM(CASE WHEN attended THEN 1 ELSE 0 END)     AS attended
+               FROM enrollment
+               GROUP BY event_id) counts
+    ON ev.id = counts.event_id
+SET ev.accepted_count = COALESCE(counts.accepted, 0),
+    ev.waiting_count  = COALESCE(counts.waiting, 0),
+    ev.attended_count = COALESCE(counts.attended, 0);
@@ -0,0 +1,12 @@
+-- 스터디의 구성원 수(member_count), 모임 수(event_count) 컬럼이 생기기 전의 스터디는 모두 0 으로 시작함
+-- 그대로 두면 목록에 0명으로 보이고, 탈퇴하면 음수가 되고, 모임이 있는 스터디도 자동 종료 배치(event_count > 0)에서 빠지므로 다시 셈
+-- 모든 스터디를 조인 테이블 기준으로 다시 맞추므로 여러번 실행해도 됨. 컬럼이 생긴 뒤, 가입을 받기 전에 한번 실행
+
+UPDATE study s
+    LEFT JOIN (SELECT study_id, COUNT(*) AS members FROM study_members GROUP BY study_id) m ON m.study_id = s.id
+    LEFT JOIN (SELECT study_id, COUNT(*) AS events FROM event GROUP BY study_id) e ON e.study_id = s.id
+SET s.member_count = COALESCE(m.members, 0),
+    s.event_count  = COALESCE(e.events, 0);
+
+-- 관리자 수 컬럼은 읽는 곳이 없어서 엔티티에서 뺐음. 기본값 없는 NOT NULL 컬럼이 남아있으면 insert 가 실패하므로 지움
+ALTER TABLE study DROP COLUMN IF EXISTS manager_count;
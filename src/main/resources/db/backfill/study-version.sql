@@ -0,0 +1,7 @@
+-- study.version 컬럼이 기본값 없이 먼저 추가된 DB 에서는 예전 스터디의 버전이 NULL 로 남아있음
+-- NULL 이면 엔티티로 수정할 때 Hibernate 가 버전을 비교하지 못하고, update 쿼리의 version + 1 도 NULL 로 남으므로 0 으로 채움
+-- 여러번 실행해도 됨
+
+UPDATE study SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE study MODIFY version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,51 @@
+package com.sangwontest.studyolle;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.event.form.EventForm;
+import com.sangwontest.studyolle.modules.study.form.StudyForm;
+
+import java.time.LocalDateTime;
+
+//여러 테스트에서 같은 모양으로 만드는 계정, 스터디 폼, 모임 폼
+//저장은 각 테스트가 자기 repository, service 로 함 (트랜잭션을 쓰는 방식이 테스트마다 다르기 때문)
+public final class TestFixtures {
+
+    public static final String PASSWORD = "123123123";
+
+    private TestFixtures() {
+    }
+
+    // WithAccount 로 만든 계정과 같은 이메일, 비밀번호 규칙
+    public static Account newAccount(String nickname) {
+        return Account.builder().nickname(nickname).email(nickname + "@naver.com").password(PASSWORD).build();
+    }
+
+    // 경로를 이름, 소개로 그대로 씀
+    public static StudyForm newStudyForm(String path) {
+        StudyForm studyForm = new StudyForm();
+        studyForm.setPath(path);
+        studyForm.setTitle(path);
+        studyForm.setShortDescription(path);
+        studyForm.setFullDescription(path);
+        return studyForm;
+    }
+
+    // 이틀 뒤에 시작해서 두 시간 동안 하는 모임
+    public static EventForm newEventForm(EventType eventType, int limitOfEnrollments) {
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        return newEventForm(eventType, limitOfEnrollments, start, start.plusHours(2));
+    }
+
+    // 신청은 시작하기 하루 전까지 받음
+    public static EventForm newEventForm(EventType eventType, int limitOfEnrollments, LocalDateTime start, LocalDateTime end) {
+        EventForm eventForm = new EventForm();
+        eventForm.setTitle("모임");
+        eventForm.setEventType(eventType);
+        eventForm.setEndEnrollmentDateTime(start.minusDays(1));
+        eventForm.setStartDateTime(start);
+        eventForm.setEndDateTime(end);
+        eventForm.setLimitOfEnrollments(limitOfEnrollments);
+        return eventForm;
+    }
+}
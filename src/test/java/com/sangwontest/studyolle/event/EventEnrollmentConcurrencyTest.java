@@ -0,0 +1,110 @@
+package com.sangwontest.studyolle.event;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventRepository;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//동시에 커밋되어야 하므로 @Transactional 을 붙이지 않고 만든 데이터는 직접 지움
+@SpringBootTest
+class EventEnrollmentConcurrencyTest {
+
+    static final String STUDY_PATH = "concurrent-enroll";
+    static final int THREADS = 2_000;
+    static final int LIMIT = 100;
+    static final int DUPLICATED_ENROLLMENTS = 100; // 같은 계정이 동시에 한번 더 신청 (버튼 두번 클릭)
+
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyRepository studyRepository;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventRepository eventRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    List<Account> accounts;
+    Event event;
+
+    @BeforeEach
+    void setUp() {
+        Account manager = accountRepository.save(newAccount("enroll-manager"));
+        accounts = accountRepository.saveAll(IntStream.range(0, THREADS - DUPLICATED_ENROLLMENTS)
+                .mapToObj(i -> newAccount("enroll-member" + i)).collect(Collectors.toList()));
+
+        Study study = studyService.createNewStudy(newStudyForm(STUDY_PATH), manager);
+        event = eventService.createEvent(newEventForm(EventType.FCFS, LIMIT), study, manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from enrollment where event_id = ?", event.getId());
+        eventRepository.deleteById(event.getId());
+        studyRepository.delete(studyRepository.findStudyOnlyByPath(STUDY_PATH));
+        accountRepository.deleteAll(accounts);
+        accountRepository.delete(accountRepository.findByNickname("enroll-manager"));
+    }
+
+    @DisplayName("2000개의 스레드가 동시에 선착순 모임에 신청해도 정원을 넘겨서 확정하지 않음")
+    @Test
+    void concurrentEnrollment() throws Exception {
+        List<Account> enrollments = new ArrayList<>(accounts);
+        enrollments.addAll(accounts.subList(0, DUPLICATED_ENROLLMENTS));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (Account account : enrollments) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                eventService.newEnrollment(event.getId(), account);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(); // 재시도 후에도 실패한 신청이 있으면 여기서 예외
+        }
+        executorService.shutdown();
+
+        Integer accepted = jdbcTemplate.queryForObject(
+                "select count(*) from enrollment where event_id = ? and accepted = true", Integer.class, event.getId());
+        Integer total = jdbcTemplate.queryForObject(
+                "select count(*) from enrollment where event_id = ?", Integer.class, event.getId());
+        assertEquals(LIMIT, accepted);
+        assertEquals(accounts.size(), total);
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(LIMIT, saved.getAcceptedCount());
+        assertEquals(accounts.size() - LIMIT, saved.getWaitingCount());
+    }
+}
@@ -0,0 +1,107 @@
+package com.sangwontest.studyolle.event;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.event.Enrollment;
+import com.sangwontest.studyolle.modules.event.EnrollmentRepository;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventRepository;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+
+//관리자 확인 모임에서 확정, 거절, 체크인을 해도 모임 행의 신청 수 카운터가 맞는지 확인
+@SpringBootTest
+@Transactional
+class EventEnrollmentCountTest {
+
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventRepository eventRepository;
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+    @Autowired
+    AccountRepository accountRepository;
+
+    Account member1;
+    Account member2;
+    Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        Account manager = accountRepository.save(newAccount("count-manager"));
+        member1 = accountRepository.save(newAccount("count-member1"));
+        member2 = accountRepository.save(newAccount("count-member2"));
+
+        Study study = studyService.createNewStudy(newStudyForm("count"), manager);
+        eventId = eventService.createEvent(newEventForm(EventType.CONFIRMATIVE, 2), study, manager).getId();
+
+        eventService.newEnrollment(eventId, member1);
+        eventService.newEnrollment(eventId, member2);
+    }
+
+    @DisplayName("관리자 확인 모임은 신청하면 대기, 확정하면 확정 수로 옮겨감")
+    @Test
+    void acceptAndReject() {
+        assertCounts(0, 2, 0);
+
+        eventService.acceptEnrollment(event(), enrollmentOf(member1));
+        eventService.acceptEnrollment(event(), enrollmentOf(member1)); // 두번 눌러도 한번만 셈
+        assertCounts(1, 1, 0);
+        assertThat(enrollmentOf(member1).isAccepted()).isTrue();
+
+        eventService.rejectEnrollment(event(), enrollmentOf(member1));
+        assertCounts(0, 2, 0);
+        assertThat(enrollmentOf(member1).isAccepted()).isFalse();
+    }
+
+    @DisplayName("체크인, 체크인 취소는 출석 수만 바꾸고, 체크인한 신청은 취소되지 않음")
+    @Test
+    void checkIn() {
+        eventService.acceptEnrollment(event(), enrollmentOf(member1));
+        eventService.checkInEnrollment(event(), enrollmentOf(member1));
+        eventService.checkInEnrollment(event(), enrollmentOf(member1));
+        assertCounts(1, 1, 1);
+
+        eventService.cancelEnrollment(eventId, member1);
+        eventService.rejectEnrollment(event(), enrollmentOf(member1));
+        assertCounts(1, 1, 1);
+
+        eventService.cancelCheckInEnrollment(event(), enrollmentOf(member1));
+        assertCounts(1, 1, 0);
+
+        eventService.cancelEnrollment(eventId, member1);
+        eventService.cancelEnrollment(eventId, member2);
+        assertCounts(0, 0, 0);
+    }
+
+    private void assertCounts(int accepted, int waiting, int attended) {
+        Event event = event();
+        assertThat(event.getAcceptedCount()).isEqualTo(accepted);
+        assertThat(event.getWaitingCount()).isEqualTo(waiting);
+        assertThat(event.getAttendedCount()).isEqualTo(attended);
+    }
+
+    private Event event() {
+        return eventRepository.findById(eventId).orElseThrow();
+    }
+
+    private Enrollment enrollmentOf(Account account) {
+        return enrollmentRepository.findByEventAndAccount(event(), account);
+    }
+}
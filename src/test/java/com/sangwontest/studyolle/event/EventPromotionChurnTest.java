@@ -0,0 +1,145 @@
+package com.sangwontest.studyolle.event;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.event.EnrollmentPromotion;
+import com.sangwontest.studyolle.modules.event.EnrollmentPromotionRepository;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventRepository;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+
+//동시에 커밋되어야 하므로 @Transactional 을 붙이지 않고 만든 데이터는 직접 지움
+//신청, 취소가 동시에 섞여 들어온 뒤 확정 기록(EnrollmentPromotion)을 따라가서 순서를 건너뛴 확정이 없는지 확인
+@SpringBootTest
+class EventPromotionChurnTest {
+
+    static final String STUDY_PATH = "promotion-churn";
+    static final int LIMIT = 10;
+    static final int FIRST_ENROLLMENTS = 60;
+    static final int LATE_ENROLLMENTS = 40;
+    static final int CANCELLATIONS = 40;
+
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyRepository studyRepository;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventRepository eventRepository;
+    @Autowired
+    EnrollmentPromotionRepository enrollmentPromotionRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    List<Account> accounts;
+    Event event;
+
+    @BeforeEach
+    void setUp() {
+        Account manager = accountRepository.save(newAccount("churn-manager"));
+        accounts = accountRepository.saveAll(IntStream.range(0, FIRST_ENROLLMENTS + LATE_ENROLLMENTS)
+                .mapToObj(i -> newAccount("churn" + i)).collect(Collectors.toList()));
+
+        Study study = studyService.createNewStudy(newStudyForm(STUDY_PATH), manager);
+        event = eventService.createEvent(newEventForm(EventType.FCFS, LIMIT), study, manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from enrollment_promotion where event_id = ?", event.getId());
+        jdbcTemplate.update("delete from enrollment where event_id = ?", event.getId());
+        eventRepository.deleteById(event.getId());
+        studyRepository.delete(studyRepository.findStudyOnlyByPath(STUDY_PATH));
+        accountRepository.deleteAll(accounts);
+        accountRepository.delete(accountRepository.findByNickname("churn-manager"));
+    }
+
+    @DisplayName("신청과 취소가 동시에 몰려도 대기자는 신청 순서대로만 확정되고 정원이 채워짐")
+    @Test
+    void promotionUnderChurn() throws Exception {
+        accounts.subList(0, FIRST_ENROLLMENTS).forEach(account -> eventService.newEnrollment(event.getId(), account));
+
+        List<Account> cancelling = new ArrayList<>(accounts.subList(0, FIRST_ENROLLMENTS));
+        Collections.shuffle(cancelling, new Random(42));
+        List<Runnable> tasks = new ArrayList<>();
+        cancelling.subList(0, CANCELLATIONS).forEach(account -> tasks.add(() -> eventService.cancelEnrollment(event.getId(), account)));
+        accounts.subList(FIRST_ENROLLMENTS, accounts.size()).forEach(account -> tasks.add(() -> eventService.newEnrollment(event.getId(), account)));
+        Collections.shuffle(tasks, new Random(7));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (Runnable task : tasks) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executorService.shutdown();
+
+        List<Map<String, Object>> enrollments = jdbcTemplate.queryForList(
+                "select position, accepted from enrollment where event_id = ? order by position", event.getId());
+        List<Integer> accepted = positions(enrollments, true);
+        List<Integer> waiting = positions(enrollments, false);
+        assertThat(enrollments).hasSize(FIRST_ENROLLMENTS + LATE_ENROLLMENTS - CANCELLATIONS);
+        assertThat(accepted).hasSize(LIMIT);
+        assertThat(accepted.get(accepted.size() - 1)).isLessThan(waiting.get(0)); // 확정된 사람보다 먼저 신청한 대기자가 없음
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(saved.getAcceptedCount()).isEqualTo(accepted.size());
+        assertThat(saved.getWaitingCount()).isEqualTo(waiting.size());
+
+        // 확정은 언제나 남은 대기자 중 가장 앞 순서부터 -> 기록을 순서대로 읽으면 신청 순서가 계속 커짐
+        List<EnrollmentPromotion> promotions = enrollmentPromotionRepository.findByEventIdOrderBySequence(event.getId());
+        List<Integer> promoted = promotions.stream()
+                .map(EnrollmentPromotion::getPosition)
+                .collect(Collectors.toList());
+        assertThat(promoted).isNotEmpty().isSorted().doesNotHaveDuplicates();
+        // 확정 순서 번호는 모임 락 안에서 빈틈 없이 1 부터 매겨짐
+        assertThat(promotions).extracting(EnrollmentPromotion::getSequence)
+                .isEqualTo(IntStream.rangeClosed(1, promotions.size()).boxed().collect(Collectors.toList()));
+        assertThat(saved.getLastPromotionSequence()).isEqualTo(promotions.size());
+    }
+
+    private List<Integer> positions(List<Map<String, Object>> enrollments, boolean accepted) {
+        return enrollments.stream()
+                .filter(row -> accepted == (Boolean) row.get("accepted"))
+                .map(row -> ((Number) row.get("position")).intValue())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,156 @@
+package com.sangwontest.studyolle.event;
+
+import com.sangwontest.studyolle.WithAccount;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.event.EnrollmentListItem;
+import com.sangwontest.studyolle.modules.event.EnrollmentState;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//모임 화면의 신청 버튼은 로그인한 사람의 신청 상태(myEnrollments)만 보고 그림
+//신청 목록은 엔티티 컬렉션 대신 신청 순서대로 읽은 프로젝션(enrollments)으로 그림
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class EventViewTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    EntityManager em;
+
+    @WithAccount("sangwon")
+    @DisplayName("신청한 모임은 취소 버튼, 신청하지 않은 모임은 신청 버튼")
+    @Test
+    void enrollmentButtons() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        Account other = accountRepository.save(newAccount("other"));
+        Study study = newStudy(sangwon);
+        Event enrolled = newEvent(study, sangwon);
+        Event notEnrolled = newEvent(study, sangwon);
+        eventService.newEnrollment(enrolled.getId(), sangwon);
+        eventService.newEnrollment(enrolled.getId(), other);
+        eventService.newEnrollment(notEnrolled.getId(), other);
+        em.flush();
+        em.clear(); // 화면은 모임을 새로 읽어서 그림
+
+        MvcResult result = mockMvc.perform(get("/study/event-view/events/" + enrolled.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("fa-minus-circle")))
+                .andExpect(content().string(not(containsString("fa-plus-circle"))))
+                .andExpect(content().string(containsString("/checkin"))) // 관리자는 체크인 링크도 봄
+                .andReturn();
+        assertThat(myEnrollments(result)).containsOnlyKeys(enrolled.getId());
+        assertThat(enrollments(result)).extracting(EnrollmentListItem::getNickname).containsExactly("sangwon", "other");
+
+        result = mockMvc.perform(get("/study/event-view/events/" + notEnrolled.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("fa-plus-circle")))
+                .andExpect(content().string(not(containsString("fa-minus-circle"))))
+                .andReturn();
+        assertThat(myEnrollments(result)).isEmpty();
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("모임 목록은 내 신청 상태를 쿼리 한번으로 모아서 보여줌")
+    @Test
+    void eventsWithMyEnrollments() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        Study study = newStudy(sangwon);
+        Event enrolled = newEvent(study, sangwon);
+        newEvent(study, sangwon);
+        eventService.newEnrollment(enrolled.getId(), sangwon);
+        em.flush();
+        em.clear();
+
+        MvcResult result = mockMvc.perform(get("/study/event-view/events"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("참가 확정")))
+                .andReturn();
+        Map<Long, EnrollmentState> myEnrollments = myEnrollments(result);
+        assertThat(myEnrollments).containsOnlyKeys(enrolled.getId());
+        assertThat(myEnrollments.get(enrolled.getId()).isAccepted()).isTrue();
+        assertThat(myEnrollments.get(enrolled.getId()).isAttended()).isFalse();
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("신청 목록은 모두에게 신청 순서대로 보여주고, 수락과 체크인 링크는 관리자에게만 보여줌")
+    @Test
+    void enrollmentListForEveryone() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        Account other = accountRepository.save(newAccount("other"));
+        Account waiting = accountRepository.save(newAccount("waiting-member"));
+        Study study = newStudy(other); // sangwon 은 관리자가 아님
+        Event event = newEvent(study, other);
+        eventService.newEnrollment(event.getId(), other);
+        eventService.newEnrollment(event.getId(), sangwon);
+        eventService.newEnrollment(event.getId(), waiting); // 정원 2명 -> 대기
+        em.flush();
+        em.clear();
+
+        MvcResult result = mockMvc.perform(get("/study/event-view/events/" + event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("모임 참가 신청 (<span>3</span>)")))
+                .andExpect(content().string(containsString("waiting-member")))
+                .andExpect(content().string(containsString("대기중")))
+                .andExpect(content().string(not(containsString("/checkin"))))
+                .andExpect(content().string(not(containsString("출석 체크"))))
+                .andReturn();
+        assertThat(enrollments(result)).extracting(EnrollmentListItem::getNickname)
+                .containsExactly("other", "sangwon", "waiting-member");
+        assertThat(enrollments(result)).extracting(EnrollmentListItem::isAccepted).containsExactly(true, true, false);
+        Event viewed = (Event) result.getModelAndView().getModel().get("event");
+        assertThat(Hibernate.isInitialized(viewed.getEnrollments())).isFalse(); // 엔티티 컬렉션은 읽지 않음
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EnrollmentListItem> enrollments(MvcResult result) {
+        return (List<EnrollmentListItem>) result.getModelAndView().getModel().get("enrollments");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, EnrollmentState> myEnrollments(MvcResult result) {
+        return (Map<Long, EnrollmentState>) result.getModelAndView().getModel().get("myEnrollments");
+    }
+
+    private Study newStudy(Account manager) {
+        return studyService.createNewStudy(newStudyForm("event-view"), manager);
+    }
+
+    private Event newEvent(Study study, Account manager) {
+        return eventService.createEvent(newEventForm(EventType.FCFS, 2), study, manager);
+    }
+}
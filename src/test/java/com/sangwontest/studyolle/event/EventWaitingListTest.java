@@ -0,0 +1,167 @@
+package com.sangwontest.studyolle.event;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.event.Enrollment;
+import com.sangwontest.studyolle.modules.event.EnrollmentAcceptedEvent;
+import com.sangwontest.studyolle.modules.event.EnrollmentPromotion;
+import com.sangwontest.studyolle.modules.event.EnrollmentPromotionRepository;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventRepository;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.event.PromotionReason;
+import com.sangwontest.studyolle.modules.event.form.EventForm;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+class EventWaitingListTest {
+
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventRepository eventRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    EnrollmentPromotionRepository enrollmentPromotionRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    ApplicationEvents applicationEvents;
+
+    Study study;
+    Event event;
+    List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Account manager = accountRepository.save(newAccount("waiting-manager"));
+        for (int i = 0; i < 5; i++) {
+            accounts.add(accountRepository.save(newAccount("waiting" + i)));
+        }
+        study = studyService.createNewStudy(newStudyForm("waiting"), manager);
+        event = eventService.createEvent(newEventForm(EventType.FCFS, 2), study, manager);
+
+        accounts.forEach(account -> eventService.newEnrollment(event.getId(), account));
+    }
+
+    @DisplayName("신청한 순서대로 번호를 받고, 정원까지만 확정됨")
+    @Test
+    void enrollmentOrder() {
+        List<Enrollment> enrollments = enrollments();
+        assertThat(enrollments).extracting(Enrollment::getPosition).containsExactly(1, 2, 3, 4, 5);
+        assertThat(enrollments).extracting(enrollment -> enrollment.getAccount().getNickname())
+                .containsExactly("waiting0", "waiting1", "waiting2", "waiting3", "waiting4");
+        assertThat(acceptedNicknames()).containsExactly("waiting0", "waiting1");
+        assertCounts(2, 3);
+    }
+
+    @DisplayName("확정된 사람이 취소하면 가장 먼저 기다린 사람이 확정됨")
+    @Test
+    void acceptNextWaiting() {
+        eventService.cancelEnrollment(event.getId(), accounts.get(0));
+
+        assertThat(acceptedNicknames()).containsExactly("waiting1", "waiting2");
+        assertCounts(2, 2);
+        List<EnrollmentPromotion> promotions = enrollmentPromotionRepository.findByEventIdOrderBySequence(event.getId());
+        assertThat(promotions).extracting(EnrollmentPromotion::getPosition).containsExactly(3);
+        assertThat(promotions).extracting(EnrollmentPromotion::getAccountId).containsExactly(accounts.get(2).getId());
+        assertThat(promotions).extracting(EnrollmentPromotion::getReason).containsExactly(PromotionReason.CANCELLATION);
+        assertThat(applicationEvents.stream(EnrollmentAcceptedEvent.class))
+                .singleElement()
+                .satisfies(accepted -> {
+                    assertThat(accepted.getAccountIds()).containsExactly(accounts.get(2).getId());
+                    assertThat(accepted.getLink()).isEqualTo("/study/waiting/events/" + event.getId());
+                });
+    }
+
+    @DisplayName("대기자가 취소해도 다른 대기자는 확정되지 않음")
+    @Test
+    void cancelWaiting() {
+        eventService.cancelEnrollment(event.getId(), accounts.get(2));
+
+        assertThat(acceptedNicknames()).containsExactly("waiting0", "waiting1");
+        assertCounts(2, 2);
+        assertThat(enrollmentPromotionRepository.findByEventIdOrderBySequence(event.getId())).isEmpty();
+        assertThat(applicationEvents.stream(EnrollmentAcceptedEvent.class)).isEmpty();
+    }
+
+    @DisplayName("정원을 늘리면 늘어난 만큼 대기 순서대로 확정됨")
+    @Test
+    void acceptWaitingList() {
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        EventForm eventForm = EventForm.from(saved);
+        eventForm.setLimitOfEnrollments(4);
+        eventService.updateEvent(saved, eventForm);
+
+        assertThat(acceptedNicknames()).containsExactly("waiting0", "waiting1", "waiting2", "waiting3");
+        assertCounts(4, 1);
+        assertThat(enrollmentPromotionRepository.findByEventIdOrderBySequence(event.getId()))
+                .extracting(EnrollmentPromotion::getPosition, EnrollmentPromotion::getReason)
+                .containsExactly(tuple(3, PromotionReason.LIMIT_INCREASED), tuple(4, PromotionReason.LIMIT_INCREASED));
+    }
+
+    @DisplayName("락을 잡기 전에 읽은 모임을 수정해도 그 사이에 커밋된 신청 순서 번호를 덮어쓰지 않음")
+    @Test
+    void updateStaleEvent() {
+        Event stale = eventRepository.findById(event.getId()).orElseThrow();
+        // 다른 트랜잭션에서 신청이 하나 커밋된 것처럼 영속성 컨텍스트를 거치지 않고 번호를 올림
+        entityManager.createNativeQuery("update event set last_enrollment_position = last_enrollment_position + 1 where id = :id")
+                .setParameter("id", event.getId())
+                .executeUpdate();
+
+        EventForm eventForm = EventForm.from(stale);
+        eventForm.setTitle("수정한 선착순");
+        eventService.updateEvent(stale, eventForm);
+        entityManager.flush();
+        entityManager.clear();
+
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(saved.getTitle()).isEqualTo("수정한 선착순");
+        assertThat(saved.getLastEnrollmentPosition()).isEqualTo(6);
+    }
+
+    private void assertCounts(int accepted, int waiting) {
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(saved.getAcceptedCount()).isEqualTo(accepted);
+        assertThat(saved.getWaitingCount()).isEqualTo(waiting);
+    }
+
+    private List<Enrollment> enrollments() {
+        entityManager.flush();
+        entityManager.clear();
+        return eventRepository.findByStudyIdOrderByStartDateTime(study.getId()).get(0).getEnrollments();
+    }
+
+    private List<String> acceptedNicknames() {
+        return enrollments().stream()
+                .filter(Enrollment::isAccepted)
+                .map(enrollment -> enrollment.getAccount().getNickname())
+                .collect(Collectors.toList());
+    }
+}
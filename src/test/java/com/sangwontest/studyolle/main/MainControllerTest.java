@@ -0,0 +1,103 @@
+package com.sangwontest.studyolle.main;
+
+import com.sangwontest.studyolle.WithAccount;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.account.AccountService;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyFeedItem;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.zone.ZoneRepository;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class MainControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    AccountService accountService;
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    TagsRepository tagsRepository;
+    @Autowired
+    ZoneRepository zoneRepository;
+
+    @DisplayName("비로그인 홈 화면")
+    @Test
+    void homeAnonymous() throws Exception {
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attributeDoesNotExist("studyList", "eventList"));
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("홈 화면 - 관심 주제, 활동 지역이 많이 겹치는 스터디 순으로 추천")
+    @Test
+    @SuppressWarnings("unchecked")
+    void homeFeed() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        Tags spring = tagsRepository.save(Tags.builder().title("spring").build());
+        Zones seoul = zoneRepository.save(Zones.builder().city("test").localNameOfCity("테스트시").province("none").build());
+        accountService.addTag(sangwon, spring);
+        accountService.addZone(sangwon, seoul);
+
+        Study tagOnly = newRecruitingStudy("tag-only", sangwon);
+        studyService.addTag(tagOnly, spring);
+        Study tagAndZone = newRecruitingStudy("tag-and-zone", sangwon);
+        studyService.addTag(tagAndZone, spring);
+        studyService.addZone(tagAndZone, seoul);
+        newRecruitingStudy("no-match", sangwon);
+
+        studyService.addMember(tagOnly.getPath(), sangwon);
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        eventService.createEvent(newEventForm(EventType.FCFS, 2, start, start.plusDays(1)), tagOnly, sangwon);
+        accountRepository.flush();
+
+        MvcResult result = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("eventList"))
+                .andReturn();
+
+        List<StudyFeedItem> studyList = (List<StudyFeedItem>) result.getModelAndView().getModel().get("studyList");
+        assertThat(studyList).extracting(StudyFeedItem::getPath).containsExactly("tag-and-zone", "tag-only");
+        assertThat(studyList).extracting(StudyFeedItem::getScore).containsExactly(2L, 1L);
+        assertThat((List<?>) result.getModelAndView().getModel().get("eventList")).hasSize(1);
+    }
+
+    private Study newRecruitingStudy(String path, Account account) {
+        studyService.createNewStudy(newStudyForm(path), account);
+        studyService.publish(account, path);
+        studyService.startRecruit(account, path);
+        return studyService.getStudyToUpdate(account, path); // 공개, 모집 시작은 update 쿼리 뒤 영속성 컨텍스트를 비우므로 다시 읽음
+    }
+}
@@ -0,0 +1,95 @@
+package com.sangwontest.studyolle.notification;
+
+import com.sangwontest.studyolle.WithAccount;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.notification.Notification;
+import com.sangwontest.studyolle.modules.notification.NotificationMessage;
+import com.sangwontest.studyolle.modules.notification.NotificationRepository;
+import com.sangwontest.studyolle.modules.notification.NotificationType;
+import com.sangwontest.studyolle.modules.notification.UnreadNotificationCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class NotificationControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    NotificationRepository notificationRepository;
+    @Autowired
+    UnreadNotificationCounter unreadNotificationCounter;
+
+    NotificationMessage message = new NotificationMessage(NotificationType.STUDY_CREATED, "spring", "/study/spring", "스프링 스터디");
+
+    @WithAccount("sangwon")
+    @DisplayName("읽지 않은 알림 목록과 상단 메뉴의 알림 수")
+    @Test
+    void newNotifications() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        notificationRepository.save(new Notification(sangwon.getId(), message, LocalDateTime.now()));
+        notificationRepository.save(new Notification(sangwon.getId(), message, LocalDateTime.now()));
+
+        mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("notification/list"))
+                .andExpect(model().attribute("newCount", 2))
+                .andExpect(model().attribute("notifications", hasSize(2)))
+                .andExpect(content().string(containsString("badge badge-pill badge-info")));
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("모두 읽음 처리 - update 한번으로 읽지 않은 알림만 바꿈")
+    @Test
+    void markAllAsRead() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        Account other = accountRepository.save(newAccount("other"));
+        notificationRepository.save(new Notification(sangwon.getId(), message, LocalDateTime.now()));
+        notificationRepository.save(new Notification(sangwon.getId(), message, LocalDateTime.now()));
+        notificationRepository.save(new Notification(other.getId(), message, LocalDateTime.now()));
+
+        mockMvc.perform(post("/notifications/read").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/notifications"))
+                .andExpect(flash().attribute("message", "2개의 알림을 읽음으로 표시했습니다."));
+
+        assertThat(notificationRepository.countByAccountIdAndCheckedFalse(sangwon.getId())).isZero();
+        assertThat(notificationRepository.countByAccountIdAndCheckedFalse(other.getId())).isEqualTo(1);
+        mockMvc.perform(get("/notifications/old"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("notifications", hasSize(2)));
+    }
+
+    @DisplayName("알림 수는 메모리에 있는 계정만 증감하고, 없는 계정은 처음 읽을 때 DB 에서 셈")
+    @Test
+    void unreadCounter() {
+        Account account = accountRepository.save(newAccount("counter"));
+        notificationRepository.save(new Notification(account.getId(), message, LocalDateTime.now()));
+
+        assertThat(unreadNotificationCounter.count(account.getId())).isEqualTo(1);
+        notificationRepository.save(new Notification(account.getId(), message, LocalDateTime.now()));
+        assertThat(unreadNotificationCounter.count(account.getId())).isEqualTo(1); // 쿼리 없이 메모리 값
+    }
+}
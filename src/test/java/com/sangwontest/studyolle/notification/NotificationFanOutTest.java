@@ -0,0 +1,175 @@
+package com.sangwontest.studyolle.notification;
+
+import com.sangwontest.studyolle.infra.mail.EmailService;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.account.AccountService;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
+import com.sangwontest.studyolle.modules.notification.Notification;
+import com.sangwontest.studyolle.modules.notification.NotificationFanOut;
+import com.sangwontest.studyolle.modules.notification.NotificationMessage;
+import com.sangwontest.studyolle.modules.notification.NotificationRecipient;
+import com.sangwontest.studyolle.modules.notification.NotificationRepository;
+import com.sangwontest.studyolle.modules.notification.NotificationService;
+import com.sangwontest.studyolle.modules.notification.NotificationType;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.zone.ZoneRepository;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+// 알림 묶음은 새 트랜잭션(REQUIRES_NEW)에서 받을 계정을 읽으므로 계정이 커밋되어 있어야 함 -> @Transactional 을 붙이지 않고 직접 지움
+@SpringBootTest
+class NotificationFanOutTest {
+
+    @Autowired
+    NotificationFanOut notificationFanOut;
+    @Autowired
+    NotificationService notificationService;
+    @Autowired
+    NotificationRepository notificationRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    AccountService accountService;
+    @Autowired
+    TagsRepository tagsRepository;
+    @Autowired
+    ZoneRepository zoneRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyRepository studyRepository;
+    @MockBean
+    EmailService emailService;
+
+    Tags spring;
+    Zones seoul;
+    static final String STUDY_PATH = "fan-out-update";
+
+    List<Account> accounts = new ArrayList<>();
+    NotificationMessage message = new NotificationMessage(NotificationType.STUDY_CREATED, "spring", "/study/spring", "스프링 스터디");
+
+    @BeforeEach
+    void setUp() {
+        spring = tagsRepository.save(Tags.builder().title("fan-out-spring").build());
+        seoul = zoneRepository.save(Zones.builder().city("fan-out").localNameOfCity("팬아웃시").province("none").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (studyRepository.existsByPath(STUDY_PATH)) {
+            studyRepository.delete(studyRepository.findStudyOnlyByPath(STUDY_PATH));
+        }
+        accounts.forEach(account -> jdbcTemplate.update("delete from notification where account_id = ?", account.getId()));
+        accountRepository.deleteAll(accounts);
+        tagsRepository.delete(spring);
+        zoneRepository.delete(seoul);
+    }
+
+    @DisplayName("관심 주제와 활동 지역이 모두 겹치고 알림을 켠 계정에게만 웹 알림, 이메일을 보냄")
+    @Test
+    void notifyMatchingAccounts() {
+        Account web = newAccount("web", true, false, true);
+        Account email = newAccount("email", false, true, true);
+        newAccount("unverified", false, true, false);
+        newAccount("off", false, false, true);
+        Account tagOnly = accountRepository.save(Account.builder()
+                .nickname("tag-only").email("tag-only@fanout.com").password("123123123")
+                .emailVerified(true).studyCreatedByWeb(true).studyCreatedByEmail(true).build());
+        accounts.add(tagOnly);
+        accountService.addTag(tagOnly, spring);
+
+        assertThat(notificationFanOut.notifyStudyCreated(message, List.of(spring.getId()), List.of(seoul.getId()))).isEqualTo(2);
+
+        List<Notification> notifications = notificationsOfTestAccounts();
+        assertThat(notifications).extracting(Notification::getAccountId).containsExactly(web.getId());
+        assertThat(notifications.get(0).getLink()).isEqualTo("/study/spring");
+        assertThat(notifications.get(0).isChecked()).isFalse();
+        verify(emailService, timeout(2000)).sendEmail(argThat(emailMessage -> emailMessage.getTo().equals(email.getEmail())));
+    }
+
+    @DisplayName("받을 계정은 account id 순서로 묶음마다 이어서 읽음")
+    @Test
+    void readRecipientsInChunks() {
+        Account first = newAccount("first", true, false, true);
+        Account second = newAccount("second", true, false, true);
+
+        List<NotificationRecipient> chunk = notificationService.notifyStudyCreated(
+                message, List.of(spring.getId()), List.of(seoul.getId()), 0L, 1);
+        assertThat(chunk).extracting(NotificationRecipient::getId).containsExactly(first.getId());
+
+        chunk = notificationService.notifyStudyCreated(
+                message, List.of(spring.getId()), List.of(seoul.getId()), first.getId(), 1);
+        assertThat(chunk).extracting(NotificationRecipient::getId).containsExactly(second.getId());
+
+        assertThat(notificationService.notifyStudyCreated(
+                message, List.of(spring.getId()), List.of(seoul.getId()), second.getId(), 1)).isEmpty();
+        assertThat(notificationsOfTestAccounts()).hasSize(2);
+    }
+
+    @DisplayName("스터디 소식은 스터디 소식 알림을 켠 구성원과 관리자에게만 보냄")
+    @Test
+    void notifyStudyUpdated() {
+        Account manager = newStudyAccount("update-manager", true);
+        Account member = newStudyAccount("update-member", true);
+        Account off = newStudyAccount("update-off", false);
+        newStudyAccount("update-outsider", true);
+        Long studyId = studyService.createNewStudy(newStudyForm(STUDY_PATH), manager).getId();
+        studyService.addMember(STUDY_PATH, member);
+        studyService.addMember(STUDY_PATH, off);
+        NotificationMessage updated = new NotificationMessage(NotificationType.STUDY_UPDATED,
+                STUDY_PATH, "/study/" + STUDY_PATH, "스터디를 종료했습니다.");
+
+        assertThat(notificationFanOut.notifyStudyUpdated(updated, studyId)).isEqualTo(2);
+
+        List<Notification> notifications = notificationsOfTestAccounts();
+        assertThat(notifications).extracting(Notification::getAccountId).containsExactlyInAnyOrder(manager.getId(), member.getId());
+        assertThat(notifications).extracting(Notification::getMessage).containsOnly("스터디를 종료했습니다.");
+    }
+
+    private Account newStudyAccount(String nickname, boolean byWeb) {
+        Account account = accountRepository.save(Account.builder()
+                .nickname(nickname).email(nickname + "@fanout.com").password("123123123")
+                .emailVerified(true).studyUpdateByWeb(byWeb).build());
+        accounts.add(account);
+        return account;
+    }
+
+    private Account newAccount(String nickname, boolean byWeb, boolean byEmail, boolean emailVerified) {
+        Account account = accountRepository.save(Account.builder()
+                .nickname(nickname).email(nickname + "@fanout.com").password("123123123")
+                .emailVerified(emailVerified).studyCreatedByWeb(byWeb).studyCreatedByEmail(byEmail).build());
+        accountService.addTag(account, spring);
+        accountService.addZone(account, seoul);
+        accounts.add(account);
+        return account;
+    }
+
+    private List<Notification> notificationsOfTestAccounts() {
+        List<Long> accountIds = accounts.stream().map(Account::getId).collect(Collectors.toList());
+        return notificationRepository.findAll().stream()
+                .filter(notification -> accountIds.contains(notification.getAccountId()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,125 @@
+package com.sangwontest.studyolle.notification;
+
+import com.sangwontest.studyolle.WithAccount;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.notification.PushService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class PushServiceTest {
+
+    static final AtomicLong nanos = new AtomicLong();
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    PushService pushService;
+    @Autowired
+    AccountRepository accountRepository;
+
+    @WithAccount("sangwon")
+    @DisplayName("연결된 계정에게 이벤트를 보내고, 재연결하면 Last-Event-ID 이후 이벤트만 다시 보냄")
+    @Test
+    void pushAndReplay() throws Exception {
+        Long accountId = accountRepository.findByNickname("sangwon").getId();
+        MvcResult first = mockMvc.perform(get("/notifications/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        pushService.send(accountId, "notification", Map.of("title", "first"));
+        pushService.send(accountId, "enrollment", Map.of("message", "second"));
+        String content = awaitContent(first, "second");
+        assertThat(content).contains("event:notification", "event:enrollment");
+
+        Matcher id = Pattern.compile("id:(\\d+)").matcher(content);
+        assertThat(id.find()).isTrue();
+        MvcResult reconnected = mockMvc.perform(get("/notifications/stream").header("Last-Event-ID", id.group(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String replayed = awaitContent(reconnected, "second");
+        assertThat(replayed).doesNotContain("first");
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("계정마다 연결 수를 제한하고 오래된 연결부터 끊음")
+    @Test
+    void connectionsPerAccount() throws Exception {
+        int before = pushService.getConnectionCount();
+        for (int i = 0; i < PushService.MAX_CONNECTIONS_PER_ACCOUNT + 2; i++) {
+            mockMvc.perform(get("/notifications/stream")).andExpect(request().asyncStarted());
+        }
+        assertThat(pushService.getConnectionCount() - before).isLessThanOrEqualTo(PushService.MAX_CONNECTIONS_PER_ACCOUNT);
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("연결된 채로 이벤트 없이 버퍼 만료 시간보다 오래 지나도 열린 연결로 보내고, 재연결하면 그 전 이벤트도 다시 보냄")
+    @Test
+    void idleConnectionKeepsReplayBuffer() throws Exception {
+        Long accountId = accountRepository.findByNickname("sangwon").getId();
+        MvcResult stream = mockMvc.perform(get("/notifications/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pushService.send(accountId, "notification", Map.of("title", "before-idle"));
+        Matcher id = Pattern.compile("id:(\\d+)").matcher(awaitContent(stream, "before-idle"));
+        assertThat(id.find()).isTrue();
+
+        // heartbeat 만 오가면서 만료 시간의 두배가 지남
+        for (int i = 0; i < 4; i++) {
+            nanos.addAndGet(PushService.REPLAY_BUFFER_IDLE.dividedBy(2).toNanos());
+            pushService.heartbeat();
+        }
+
+        pushService.send(accountId, "notification", Map.of("title", "after-idle"));
+        assertThat(awaitContent(stream, "after-idle")).contains("after-idle");
+
+        MvcResult reconnected = mockMvc.perform(get("/notifications/stream")
+                        .header("Last-Event-ID", Long.parseLong(id.group(1)) - 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitContent(reconnected, "after-idle")).contains("before-idle", "after-idle");
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        for (int i = 0; i < 50; i++) {
+            String content = result.getResponse().getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(100);
+        }
+        return result.getResponse().getContentAsString();
+    }
+
+    // 버퍼 만료 시간을 테스트에서 앞당길 수 있는 PushService 를 컨트롤러, 리스너가 쓰도록 함
+    @TestConfiguration
+    static class FakeTickerConfig {
+
+        @Bean
+        @Primary
+        PushService fakeTickerPushService(ThreadPoolTaskExecutor pushExecutor) {
+            return new PushService(pushExecutor, nanos::get);
+        }
+    }
+}
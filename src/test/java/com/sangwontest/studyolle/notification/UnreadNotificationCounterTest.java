@@ -0,0 +1,83 @@
+package com.sangwontest.studyolle.notification;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.notification.Notification;
+import com.sangwontest.studyolle.modules.notification.NotificationMessage;
+import com.sangwontest.studyolle.modules.notification.NotificationRepository;
+import com.sangwontest.studyolle.modules.notification.NotificationService;
+import com.sangwontest.studyolle.modules.notification.NotificationType;
+import com.sangwontest.studyolle.modules.notification.UnreadNotificationCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//메모리의 알림 수는 커밋된 뒤에만 증감하므로 실제로 커밋해서 확인함 -> @Transactional 을 붙이지 않고 직접 지움
+@SpringBootTest
+class UnreadNotificationCounterTest {
+
+    @Autowired
+    UnreadNotificationCounter unreadNotificationCounter;
+    @Autowired
+    NotificationService notificationService;
+    @Autowired
+    NotificationRepository notificationRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    NotificationMessage message = new NotificationMessage(NotificationType.EVENT_ENROLLMENT, "spring", "/study/spring", "스프링 모임");
+    Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(Account.builder()
+                .nickname("unread-counter").email("unread-counter@naver.com").password("123123123")
+                .studyEnrollmentResultByWeb(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from notification where account_id = ?", account.getId());
+        accountRepository.delete(account);
+    }
+
+    @DisplayName("커밋된 알림만 메모리의 알림 수에 더해지고, 모두 읽음 처리가 커밋되면 0 이 됨")
+    @Test
+    void countAfterCommit() {
+        assertThat(unreadNotificationCounter.count(account.getId())).isZero(); // DB 에서 세서 메모리에 올림
+
+        notificationService.notifyEnrollmentResult(message, List.of(account.getId()));
+        notificationService.notifyEnrollmentResult(message, List.of(account.getId()));
+        assertThat(unreadNotificationCounter.count(account.getId())).isEqualTo(2);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationRepository.save(new Notification(account.getId(), message, LocalDateTime.now()));
+            unreadNotificationCounter.increment(List.of(account.getId()));
+            assertThat(unreadNotificationCounter.count(account.getId())).isEqualTo(2); // 커밋 전에는 그대로
+            status.setRollbackOnly();
+        });
+        assertThat(unreadNotificationCounter.count(account.getId())).isEqualTo(2);
+
+        assertThat(notificationService.markAllAsRead(account.getId())).isEqualTo(2);
+        assertThat(unreadNotificationCounter.count(account.getId())).isZero();
+        assertThat(notificationRepository.countByAccountIdAndCheckedFalse(account.getId())).isZero();
+
+        notificationService.notifyEnrollmentResult(message, List.of(account.getId()));
+        assertThat(unreadNotificationCounter.count(account.getId())).isEqualTo(1);
+        assertThat(notificationRepository.countByAccountIdAndCheckedFalse(account.getId())).isEqualTo(1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.sangwontest.studyolle.settings;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.account.CurrentAccountLoader;
+import com.sangwontest.studyolle.modules.account.UserAccount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.sangwontest.studyolle.TestFixtures.PASSWORD;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+//CurrentAccountLoader 는 요청마다 새로 만들어지는 빈(@RequestScope) -> 인스턴스 하나가 요청 하나
+class CurrentAccountLoaderTest {
+
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    CurrentAccountLoader currentAccountLoader = new CurrentAccountLoader(accountRepository);
+
+    @DisplayName("한 요청 안에서는 계정을 한번만 조회하고, 세션의 계정이 바뀌면 다시 조회함")
+    @Test
+    void loadOncePerRequest() {
+        Account sangwon = account(1L, "sangwon");
+        Account other = account(2L, "other");
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(sangwon));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(other));
+
+        assertSame(sangwon, currentAccountLoader.load(new UserAccount(sangwon)));
+        assertSame(sangwon, currentAccountLoader.load(new UserAccount(sangwon))); // 같은 요청의 다른 @CurrentUser 파라미터
+        verify(accountRepository, times(1)).findById(1L);
+
+        assertSame(other, currentAccountLoader.load(new UserAccount(other))); // 요청 중에 다시 로그인한 경우
+        verify(accountRepository, times(1)).findById(2L);
+    }
+
+    private Account account(Long id, String nickname) {
+        return Account.builder().id(id).nickname(nickname).email(nickname + "@naver.com").password(PASSWORD).build();
+    }
+}
@@ -9,6 +9,7 @@ import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
 import com.sangwontest.studyolle.modules.account.Account;
 import com.sangwontest.studyolle.modules.account.SettingsController;
 import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.account.UserAccount;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,10 +19,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -140,6 +143,23 @@ class SettingsControllerTest {
         assertEquals(bio, sangwon.getBio());
     }
 
+    @WithAccount("sangwon")
+    @DisplayName("프로필 수정하기 - 세션의 UserAccount 도 새 프로필 이미지로 바뀜")
+    @Test
+    public void updateProfileRefreshesPrincipal() throws Exception{
+        String png = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg==";
+        MvcResult result = mockMvc.perform(post("/" + SettingsController.SETTINGS_PROFILE_VIEW_NAME)
+                        .param("profileImage", "data:image/png;base64," + png)
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+
+        String hash = accountRepository.findByNickname("sangwon").getProfileImage();
+        assertEquals(64, hash.length());
+        authenticated().withAuthentication(authentication ->
+                assertEquals(hash, ((UserAccount) authentication.getPrincipal()).getProfileImage())).match(result);
+    }
+
     @WithAccount("sangwon")
     @DisplayName("프로필 수정하기 - 입력값 error")
     @Test
@@ -0,0 +1,75 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.infra.config.CacheConfig;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.study.StudyView;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+
+//evict 는 커밋된 뒤에 일어나므로 (TransactionAwareCacheManagerProxy) @Transactional 을 붙이지 않고 만든 데이터는 직접 지움
+@SpringBootTest
+class StudyCacheTest {
+
+    static final String STUDY_PATH = "study-cache";
+
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyRepository studyRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Account manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = accountRepository.save(newAccount("cache-manager"));
+        studyService.createNewStudy(newStudyForm(STUDY_PATH), manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        studyRepository.delete(studyRepository.findStudyOnlyByPath(STUDY_PATH));
+        accountRepository.delete(manager);
+    }
+
+    @DisplayName("스터디 화면은 path 로 캐시하고, 이름을 바꾸면 evict 해서 바뀐 이름을 보여줌")
+    @Test
+    void evictOnTitleChange() {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        StudyView cached = studyService.getStudyView(STUDY_PATH);
+        assertThat(studyService.getStudyView(STUDY_PATH)).isSameAs(cached);
+        assertThat(cacheGets("miss")).isEqualTo(misses + 1);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+
+        studyService.changeTitle(manager, STUDY_PATH, "바뀐 이름");
+
+        StudyView changed = studyService.getStudyView(STUDY_PATH);
+        assertThat(changed).isNotSameAs(cached);
+        assertThat(changed.getTitle()).isEqualTo("바뀐 이름");
+        assertThat(cacheGets("miss")).isEqualTo(misses + 2);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.STUDY_CACHE)
+                .tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,91 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.infra.async.AsyncEventMetrics;
+import com.sangwontest.studyolle.infra.retry.RetryOnFailure;
+import com.sangwontest.studyolle.modules.study.StudyUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//이벤트가 커밋된 뒤에만, 요청 스레드가 아닌 async-event 스레드에서 처리되고 실패하면 다시 시도되는지 확인
+//커밋이 필요하므로 @Transactional 을 붙이지 않음
+@SpringBootTest
+class StudyEventPipelineTest {
+
+    static final List<String> handled = new CopyOnWriteArrayList<>();
+    static final AtomicInteger attempts = new AtomicInteger();
+    static volatile CountDownLatch latch;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    AsyncEventMetrics asyncEventMetrics;
+
+    @BeforeEach
+    void setUp() {
+        handled.clear();
+        attempts.set(0);
+    }
+
+    @DisplayName("커밋된 이벤트만 비동기 스레드에서 처리하고, 실패하면 다시 시도함")
+    @Test
+    void afterCommitOnAsyncExecutor() throws Exception {
+        latch = new CountDownLatch(1);
+        long retried = asyncEventMetrics.getRetried();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new StudyUpdateEvent(1L, "rollback"));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(new StudyUpdateEvent(2L, "commit")));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(handled).containsExactly("commit");
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(asyncEventMetrics.getRetried()).isEqualTo(retried + 1);
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+
+        @Async
+        @RetryOnFailure(backoffMillis = 10)
+        @TransactionalEventListener
+        public void handle(StudyUpdateEvent event) {
+            if (!Thread.currentThread().getName().startsWith("async-event-")) {
+                throw new IllegalStateException("not on async executor : " + Thread.currentThread().getName());
+            }
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt fails");
+            }
+            handled.add(event.getMessage());
+            latch.countDown();
+        }
+    }
+}
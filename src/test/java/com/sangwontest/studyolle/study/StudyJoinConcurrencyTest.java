@@ -0,0 +1,125 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.study.search.StudyDocument;
+import com.sangwontest.studyolle.modules.study.search.StudySearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//동시에 커밋되어야 하므로 @Transactional 을 붙이지 않고 만든 데이터는 직접 지움
+@SpringBootTest
+class StudyJoinConcurrencyTest {
+
+    static final String STUDY_PATH = "concurrent-join";
+    static final int MEMBERS = 1_000;
+    static final int DUPLICATED_JOINS = 100; // 같은 계정이 동시에 한번 더 가입 (버튼 두번 클릭)
+
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyRepository studyRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    StudySearchIndex studySearchIndex;
+
+    List<Account> accounts;
+
+    @BeforeEach
+    void setUp() {
+        Account manager = accountRepository.save(newAccount("join-manager"));
+        accounts = accountRepository.saveAll(IntStream.range(0, MEMBERS)
+                .mapToObj(i -> newAccount("join-member" + i)).collect(Collectors.toList()));
+
+        studyService.createNewStudy(newStudyForm(STUDY_PATH), manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Study study = studyRepository.findStudyOnlyByPath(STUDY_PATH);
+        studySearchIndex.remove(study.getId());
+        studyRepository.delete(study);
+        accountRepository.deleteAll(accounts);
+        accountRepository.delete(accountRepository.findByNickname("join-manager"));
+    }
+
+    @DisplayName("1000명이 동시에 가입해도 조인 행과 구성원 수가 맞음")
+    @Test
+    void concurrentJoin() throws Exception {
+        List<Account> joins = new ArrayList<>(accounts);
+        joins.addAll(accounts.subList(0, DUPLICATED_JOINS));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(50);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Study>> results = new ArrayList<>();
+        for (Account account : joins) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                return studyService.addMember(STUDY_PATH, account);
+            }));
+        }
+        start.countDown();
+        for (Future<Study> result : results) {
+            result.get(); // 재시도 후에도 실패한 가입이 있으면 여기서 예외
+        }
+        executorService.shutdown();
+
+        Study study = studyRepository.findStudyOnlyByPath(STUDY_PATH);
+        Integer joinRows = jdbcTemplate.queryForObject(
+                "select count(*) from study_members where study_id = ?", Integer.class, study.getId());
+        assertEquals(MEMBERS, joinRows);
+        assertEquals(MEMBERS, study.getMemberCount());
+        assertEquals(0L, study.getVersion()); // 가입은 스터디 행의 버전을 올리지 않음
+    }
+
+    @DisplayName("스터디를 읽은 뒤에 다른 가입이 커밋돼도 검색 색인에는 DB 의 구성원 수가 들어감")
+    @Test
+    void reindexWithCommittedMemberCount() {
+        studyService.publish(accountRepository.findByNickname("join-manager"), STUDY_PATH);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            studyRepository.findStudyOnlyByPath(STUDY_PATH); // 구성원 0명인 스터디가 영속성 컨텍스트에 남음
+            try {
+                executorService.submit(() -> studyService.addMember(STUDY_PATH, accounts.get(0))).get(); // 다른 트랜잭션의 가입이 먼저 커밋
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            studyService.addMember(STUDY_PATH, accounts.get(1));
+        });
+        executorService.shutdown();
+
+        StudyDocument document = studySearchIndex.search("concurrent", PageRequest.of(0, 10)).getContent().stream()
+                .filter(d -> d.getPath().equals(STUDY_PATH))
+                .findFirst().orElseThrow();
+        assertEquals(2, document.getMemberCount());
+    }
+}
@@ -0,0 +1,102 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.WithAccount;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.study.StudyMember;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//구성원 목록은 account id 기준 keyset 으로 MEMBER_PAGE_SIZE 명씩 보여줌
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class StudyMembersPageTest {
+
+    static final String STUDY_PATH = "members-page";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    AccountRepository accountRepository;
+
+    List<Account> members;
+
+    @BeforeEach
+    void setUp() {
+        Account manager = accountRepository.save(newAccount("members-manager"));
+        studyService.createNewStudy(newStudyForm(STUDY_PATH), manager);
+        members = accountRepository.saveAll(IntStream.range(0, StudyService.MEMBER_PAGE_SIZE)
+                .mapToObj(i -> newAccount("page-member" + i)).collect(Collectors.toList()));
+        members.forEach(member -> studyService.addMember(STUDY_PATH, member));
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("구성원이 정확히 한 페이지면 다음 페이지 id 를 넘기고, 다음 페이지는 비어있음")
+    @Test
+    void exactlyOnePage() throws Exception {
+        MvcResult first = mockMvc.perform(get("/study/" + STUDY_PATH + "/members"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("더보기")))
+                .andReturn();
+        Long lastId = members.get(members.size() - 1).getId();
+        assertThat(members(first)).extracting(StudyMember::getId)
+                .containsExactlyElementsOf(members.stream().map(Account::getId).collect(Collectors.toList()));
+        assertThat(first.getModelAndView().getModel().get("nextMemberId")).isEqualTo(lastId);
+
+        MvcResult next = mockMvc.perform(get("/study/" + STUDY_PATH + "/members").param("after", lastId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("nextMemberId"))
+                .andReturn();
+        assertThat(members(next)).isEmpty();
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("한 페이지보다 한명 많으면 다음 페이지에 남은 한명만 나오고 더 넘길 id 가 없음")
+    @Test
+    void onePageAndOneMore() throws Exception {
+        Account last = accountRepository.save(newAccount("page-member-last"));
+        studyService.addMember(STUDY_PATH, last);
+
+        MvcResult first = mockMvc.perform(get("/study/" + STUDY_PATH + "/members"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(members(first)).hasSize(StudyService.MEMBER_PAGE_SIZE);
+        Long nextMemberId = (Long) first.getModelAndView().getModel().get("nextMemberId");
+        assertThat(nextMemberId).isEqualTo(members.get(members.size() - 1).getId());
+
+        MvcResult next = mockMvc.perform(get("/study/" + STUDY_PATH + "/members").param("after", nextMemberId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("nextMemberId"))
+                .andExpect(content().string(not(containsString("더보기"))))
+                .andReturn();
+        assertThat(members(next)).extracting(StudyMember::getNickname).containsExactly("page-member-last");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StudyMember> members(MvcResult result) {
+        return (List<StudyMember>) result.getModelAndView().getModel().get("members");
+    }
+}
@@ -0,0 +1,212 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyListCondition;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudySummary;
+import com.sangwontest.studyolle.modules.zone.ZoneRepository;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class StudyRepositoryTest {
+
+    static final AtomicLong queryCount = new AtomicLong();
+    static final AtomicLong rowCount = new AtomicLong();
+    static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    StudyRepository studyRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    TagsRepository tagsRepository;
+    @Autowired
+    ZoneRepository zoneRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setStudy() {
+        Account manager = accountRepository.save(newAccount("manager"));
+        List<Account> members = accountRepository.saveAll(IntStream.range(0, 500)
+                .mapToObj(i -> newAccount("member" + i)).collect(Collectors.toList()));
+        List<Tags> tags = tagsRepository.saveAll(IntStream.range(0, 20)
+                .mapToObj(i -> Tags.builder().title("tag" + i).build()).collect(Collectors.toList()));
+        List<Zones> zones = zoneRepository.findAll().subList(0, 10);
+
+        Study study = Study.builder().path("big-study").title("big").shortDescription("big").fullDescription("big").build();
+        study.addManager(manager);
+        members.forEach(study::addMember);
+        study.getTags().addAll(tags);
+        study.getZones().addAll(zones);
+        studyRepository.save(study);
+
+        entityManager.flush();
+        entityManager.clear();
+        queryCount.set(0);
+        rowCount.set(0);
+        statements.clear();
+    }
+
+    @DisplayName("조회 화면용 스터디는 컬렉션을 따로 조회해서 쿼리 4번, 컬렉션 크기만큼의 행만 읽고 members 는 읽지 않음")
+    @Test
+    void findStudyForViewByPath() {
+        Study study = studyRepository.findStudyForViewByPath("big-study");
+
+        assertEquals(20, study.getTags().size());
+        assertEquals(10, study.getZones().size());
+        assertEquals(1, study.getManagers().size());
+        assertFalse(Hibernate.isInitialized(study.getMembers()));
+        assertEquals(4, queryCount.get());
+        assertEquals(1 + 20 + 10 + 1, rowCount.get());
+    }
+
+    @DisplayName("가입 여부는 members 를 로딩하지 않고 exists 쿼리 한번, 구성원 수는 컬럼에서 읽고 update 쿼리로 증감")
+    @Test
+    void existsMemberAndMemberCount() {
+        Account member = accountRepository.findByNickname("member0");
+        Account manager = accountRepository.findByNickname("manager");
+        Study study = studyRepository.findStudyOnlyByPath("big-study");
+        queryCount.set(0);
+        rowCount.set(0);
+
+        assertTrue(studyRepository.existsMember(study.getId(), member.getId()));
+        assertFalse(studyRepository.existsMember(study.getId(), manager.getId()));
+        assertEquals(2, queryCount.get());
+        assertEquals(2, rowCount.get());
+
+        assertEquals(500, study.getMemberCount());
+        studyRepository.updateMemberCount(study.getId(), 1);
+        entityManager.clear();
+        assertEquals(501, studyRepository.findStudyOnlyByPath("big-study").getMemberCount());
+    }
+
+    @DisplayName("스터디 목록은 조건으로 거르고 (공개일, id) keyset 으로 페이지를 이어서 읽으며 본문 컬럼은 읽지 않음")
+    @Test
+    void findStudySummaries() {
+        Account manager = accountRepository.findByNickname("manager");
+        Tags tag = tagsRepository.findByTitle("tag0");
+        LocalDateTime publishedDatetime = LocalDateTime.of(2022, 5, 1, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            // 0, 1 번은 공개일이 같아서 id 로 순서가 정해짐
+            Study study = Study.builder().path("list-" + i).title("list").shortDescription("list").fullDescription("list")
+                    .published(true).recruiting(i % 2 == 0).publishedDatetime(publishedDatetime.plusDays(Math.max(i, 1))).build();
+            study.addManager(manager);
+            study.getTags().add(tag);
+            studyRepository.save(study);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statements.clear();
+
+        StudyListCondition byTag = StudyListCondition.builder().tagId(tag.getId()).published(true).build();
+        List<String> paths = new ArrayList<>();
+        List<StudySummary> page = studyRepository.findStudySummaries(byTag, null, null, 2);
+        while (!page.isEmpty()) {
+            page.forEach(summary -> paths.add(summary.getPath()));
+            StudySummary last = page.get(page.size() - 1);
+            page = studyRepository.findStudySummaries(byTag, last.getPublishedDatetime(), last.getId(), 2);
+        }
+        assertEquals(List.of("list-4", "list-3", "list-2", "list-1", "list-0"), paths);
+        assertFalse(statements.stream().anyMatch(sql -> sql.contains("full_description")));
+
+        List<StudySummary> recruiting = studyRepository.findStudySummaries(
+                StudyListCondition.builder().recruiting(true).closed(false).build(), null, null, 10);
+        assertEquals(List.of("list-4", "list-2", "list-0"),
+                recruiting.stream().map(StudySummary::getPath).collect(Collectors.toList()));
+
+        // 공개하지 않은 스터디는 공개일이 없으므로 맨 뒤에 옴
+        List<StudySummary> managed = studyRepository.findStudySummaries(
+                StudyListCondition.builder().managerId(manager.getId()).build(), null, null, 10);
+        assertEquals(6, managed.size());
+        assertEquals("big-study", managed.get(5).getPath());
+        StudySummary fifth = managed.get(4);
+        assertEquals("big-study", studyRepository.findStudySummaries(StudyListCondition.builder().managerId(manager.getId()).build(),
+                fifth.getPublishedDatetime(), fifth.getId(), 10).get(0).getPath());
+    }
+
+    //쿼리 수와 ResultSet 에서 읽은 행 수를 세기 위해 DataSource 를 감싸줌
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource) {
+                        return proxy(DataSource.class, bean);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, Object target) {
+            InvocationHandler handler = (p, method, args) -> {
+                Object result = invoke(method, target, args);
+                if (result instanceof Connection) {
+                    return proxy(Connection.class, result);
+                }
+                if (result instanceof PreparedStatement) {
+                    statements.add((String) args[0]);
+                    return proxy(PreparedStatement.class, result);
+                }
+                if (result instanceof ResultSet) {
+                    queryCount.incrementAndGet();
+                    return proxy(ResultSet.class, result);
+                }
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    rowCount.incrementAndGet();
+                }
+                return result;
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, handler));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
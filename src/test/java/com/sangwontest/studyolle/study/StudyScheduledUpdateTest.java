@@ -0,0 +1,106 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class StudyScheduledUpdateTest {
+
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyRepository studyRepository;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    AccountRepository accountRepository;
+
+    Account manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = accountRepository.save(newAccount("scheduler"));
+    }
+
+    @DisplayName("모집 종료 시각이 지난 스터디만 묶음 단위로 모집을 멈춤")
+    @Test
+    void stopDueRecruiting() {
+        LocalDateTime end = LocalDateTime.now().plusHours(1);
+        newRecruitingStudy("due-1");
+        newRecruitingStudy("due-2");
+        newRecruitingStudy("not-reserved");
+        assertTrue(studyService.reserveRecruitingEnd(manager, "due-1", end));
+        assertTrue(studyService.reserveRecruitingEnd(manager, "due-2", end));
+        assertFalse(studyService.reserveRecruitingEnd(manager, "not-reserved", LocalDateTime.now().minusMinutes(1)));
+
+        assertEquals(0, studyService.stopDueRecruiting(end.minusMinutes(1), 1));
+        assertEquals(1, studyService.stopDueRecruiting(end, 1));
+        assertEquals(1, studyService.stopDueRecruiting(end, 1));
+        assertEquals(0, studyService.stopDueRecruiting(end, 1));
+
+        Study due = studyRepository.findStudyOnlyByPath("due-1");
+        assertFalse(due.isRecruiting());
+        assertNull(due.getRecruitingEndDateTime());
+        assertFalse(studyRepository.findStudyOnlyByPath("due-2").isRecruiting());
+        assertTrue(studyRepository.findStudyOnlyByPath("not-reserved").isRecruiting());
+    }
+
+    @DisplayName("자동 종료를 켠 스터디는 마지막 모임이 끝난 뒤에 종료")
+    @Test
+    void closeFinishedStudies() {
+        LocalDateTime now = LocalDateTime.now();
+        newRecruitingStudy("finished");
+        newRecruitingStudy("ongoing");
+        newRecruitingStudy("manual");
+        newRecruitingStudy("no-event");
+        for (String path : new String[]{"finished", "ongoing", "no-event"}) {
+            assertTrue(studyService.updateAutoClose(manager, path, true));
+        }
+        newEvent("finished", now.minusDays(2), now.minusDays(1));
+        newEvent("ongoing", now.minusDays(2), now.minusDays(1));
+        newEvent("ongoing", now.plusDays(1), now.plusDays(2));
+        newEvent("manual", now.minusDays(2), now.minusDays(1));
+
+        assertEquals(1, studyService.closeFinishedStudies(now, 10));
+
+        Study finished = studyRepository.findStudyOnlyByPath("finished");
+        assertTrue(finished.isClosed());
+        assertFalse(finished.isRecruiting());
+        assertFalse(studyRepository.findStudyOnlyByPath("ongoing").isClosed());
+        assertFalse(studyRepository.findStudyOnlyByPath("manual").isClosed());
+        assertFalse(studyRepository.findStudyOnlyByPath("no-event").isClosed());
+        assertEquals(0, studyService.closeFinishedStudies(now, 10));
+    }
+
+    private void newRecruitingStudy(String path) {
+        studyService.createNewStudy(newStudyForm(path), manager);
+        studyService.publish(manager, path);
+        studyService.startRecruit(manager, path);
+    }
+
+    private void newEvent(String path, LocalDateTime start, LocalDateTime end) {
+        eventService.createEvent(newEventForm(EventType.FCFS, 2, start, end), studyRepository.findStudyOnlyByPath(path), manager);
+    }
+}
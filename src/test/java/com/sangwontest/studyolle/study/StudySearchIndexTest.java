@@ -0,0 +1,106 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.search.StudyDocument;
+import com.sangwontest.studyolle.modules.study.search.StudySearchIndex;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudySearchIndexTest {
+
+    StudySearchIndex studySearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        studySearchIndex = new StudySearchIndex();
+    }
+
+    @DisplayName("지역 이름 일부로 검색 - 한글 bigram")
+    @Test
+    void searchByKoreanZoneName() {
+        Study study = study(1L, "spring", "스프링 스터디", "<p>같이 공부해요</p>");
+        study.getZones().add(Zones.builder().id(10L).city("Seoul").localNameOfCity("서울특별시").build());
+        studySearchIndex.index(StudyDocument.from(study, 0));
+
+        assertThat(search("서울")).containsExactly("spring");
+        assertThat(search("특별시")).containsExactly("spring");
+        assertThat(search("seoul")).containsExactly("spring");
+        assertThat(search("부산")).isEmpty();
+    }
+
+    @DisplayName("영문은 접두어로, 여러 단어는 모두 포함하는 스터디만 검색")
+    @Test
+    void searchByPrefixAndAllTerms() {
+        Study spring = study(1L, "spring", "Spring JPA", "");
+        spring.getTags().add(Tags.builder().id(20L).title("backend").build());
+        studySearchIndex.index(StudyDocument.from(spring, 0));
+        studySearchIndex.index(StudyDocument.from(study(2L, "python", "Python 입문", "<b>spring</b> 아님"), 0));
+
+        assertThat(search("spr")).containsExactlyInAnyOrder("spring", "python");
+        assertThat(search("spring back")).containsExactly("spring");
+        assertThat(search("spring 입문")).containsExactly("python");
+        assertThat(search("b")).containsExactly("spring"); // html 태그는 색인하지 않음
+    }
+
+    @DisplayName("다시 색인하면 이전 내용으로는 검색되지 않고, 지우면 검색되지 않음")
+    @Test
+    void reindexAndRemove() {
+        studySearchIndex.index(StudyDocument.from(study(1L, "study", "자바 스터디", ""), 0));
+        studySearchIndex.index(StudyDocument.from(study(1L, "study", "코틀린 스터디", ""), 0));
+
+        assertThat(search("자바")).isEmpty();
+        assertThat(search("코틀린")).containsExactly("study");
+
+        studySearchIndex.remove(1L);
+        assertThat(search("스터디")).isEmpty();
+        assertThat(studySearchIndex.size()).isZero();
+    }
+
+    @DisplayName("구성원 수, 공개일 순 정렬과 페이징")
+    @Test
+    void sortAndPage() {
+        for (long i = 1; i <= 5; i++) {
+            Study study = study(i, "study" + i, "스터디 " + i, "");
+            studySearchIndex.index(StudyDocument.from(study, 10 - i));
+        }
+
+        Page<StudyDocument> byMembers = studySearchIndex.search("스터디",
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, StudySearchIndex.SORT_MEMBER_COUNT)));
+        assertThat(byMembers.getTotalElements()).isEqualTo(5);
+        assertThat(byMembers.getContent()).extracting(StudyDocument::getPath).containsExactly("study1", "study2");
+
+        Page<StudyDocument> byPublished = studySearchIndex.search("스터디",
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, StudySearchIndex.SORT_PUBLISHED)));
+        assertThat(byPublished.getContent()).extracting(StudyDocument::getPath).containsExactly("study3", "study2");
+    }
+
+    private Study study(Long id, String path, String title, String fullDescription) {
+        return Study.builder()
+                .id(id)
+                .path(path)
+                .title(title)
+                .shortDescription(title)
+                .fullDescription(fullDescription)
+                .published(true)
+                .publishedDatetime(LocalDateTime.of(2022, 1, 1, 0, 0).plusDays(id))
+                .build();
+    }
+
+    private List<String> search(String keyword) {
+        return studySearchIndex.search(keyword, PageRequest.of(0, 10)).getContent().stream()
+                .map(StudyDocument::getPath)
+                .collect(Collectors.toList());
+    }
+}
@@ -7,6 +7,7 @@ import com.sangwontest.studyolle.modules.account.TagForm;
 import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
 import com.sangwontest.studyolle.modules.account.Account;
 import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyPathAliasRepository;
 import com.sangwontest.studyolle.modules.study.StudyRepository;
 import com.sangwontest.studyolle.modules.study.StudyService;
 import com.sangwontest.studyolle.modules.account.Tags;
@@ -22,6 +23,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -46,6 +52,8 @@ class StudySettingControllerTest {
     ObjectMapper objectMapper;
     @Autowired
     TagsRepository tagsRepository;
+    @Autowired
+    StudyPathAliasRepository studyPathAliasRepository;
 
 
     static final String STUDY_PATH = "sangwon";
@@ -108,6 +116,58 @@ class StudySettingControllerTest {
                 .andExpect(redirectedUrl("/study/" + STUDY_PATH + "/settings/banner"));
     }
 
+    @WithAccount("sangwon")
+    @DisplayName("스터디 배너 등록 - 이미지 저장소에 저장하고 해시로 조회")
+    @Test
+    public void studyBannerSettingWithImage() throws Exception {
+        String png = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg==";
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/banner")
+                        .param("image", "data:image/png;base64," + png)
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/" + STUDY_PATH + "/settings/banner"));
+
+        String hash = studyRepository.findStudyOnlyByPath(STUDY_PATH).getImage();
+        assertEquals(64, hash.length());
+
+        mockMvc.perform(get("/image/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string("ETag", "\"" + hash + "\""))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+
+        mockMvc.perform(get("/image/" + hash).header("If-None-Match", "\"" + hash + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("스터디 배너 등록 - 이미지가 아닌 내용은 저장하지 않음")
+    @Test
+    public void studyBannerSettingWithHtml() throws Exception {
+        String html = Base64.getEncoder().encodeToString("<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/banner")
+                        .param("image", "data:image/png;base64," + html)
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("message"));
+
+        assertNull(studyRepository.findStudyOnlyByPath(STUDY_PATH).getImage());
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("스터디 배너 등록 - 저장소에 없는 해시는 받지 않음")
+    @Test
+    public void studyBannerSettingWithUnknownHash() throws Exception {
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/banner")
+                        .param("image", "0".repeat(64))
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("message", "이미지 형식이 올바르지 않습니다. 다시 선택하세요."));
+
+        assertNull(studyRepository.findStudyOnlyByPath(STUDY_PATH).getImage());
+    }
+
     @WithAccount("sangwon")
     @DisplayName("스터디 배너 사용")
     @Test
@@ -117,7 +177,7 @@ class StudySettingControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/study/" + STUDY_PATH + "/settings/banner"));
 
-        Study byPath = studyRepository.findByPath(STUDY_PATH);
+        Study byPath = studyRepository.findStudyOnlyByPath(STUDY_PATH);
 
         assertTrue(byPath.isUseBanner());
     }
@@ -131,7 +191,7 @@ class StudySettingControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/study/" + STUDY_PATH + "/settings/banner"));
 
-        Study byPath = studyRepository.findByPath(STUDY_PATH);
+        Study byPath = studyRepository.findStudyOnlyByPath(STUDY_PATH);
 
         assertFalse(byPath.isUseBanner());
 
@@ -169,4 +229,147 @@ class StudySettingControllerTest {
         assertEquals("testf", study.getFullDescription());
 
     }
-}
\ No newline at end of file
+
+    @WithAccount("sangwon")
+    @DisplayName("경로를 바꾸면 예전 경로는 새 경로로 301 redirect 하고 다른 스터디가 쓸 수 없음")
+    @Test
+    public void changePathRedirectsOldPath() throws Exception {
+        Account account = accountRepository.findByNickname("sangwon");
+        studyService.createNewStudy(newStudyForm("old-path"), account);
+
+        mockMvc.perform(post("/study/old-path/settings/study/path")
+                        .param("path", "new-path")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/new-path/settings/study"));
+
+        mockMvc.perform(get("/study/old-path"))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string("Location", "/study/new-path"));
+        mockMvc.perform(get("/study/old-path/members?after=10"))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string("Location", "/study/new-path/members?after=10"));
+        mockMvc.perform(get("/study/old-path/settings/description"))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string("Location", "/study/new-path/settings/description"));
+
+        mockMvc.perform(post("/new-study")
+                        .param("path", "old-path")
+                        .param("title", "other")
+                        .param("shortDescription", "other")
+                        .param("fullDescription", "other")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/form"))
+                .andExpect(model().attributeHasFieldErrors("studyForm", "path"));
+        assertFalse(studyRepository.existsByPath("old-path"));
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("이 스터디의 예전 경로로는 되돌릴 수 있고, 다른 스터디의 예전 경로로는 바꿀 수 없음")
+    @Test
+    public void changePathBackToOldPath() throws Exception {
+        Account account = accountRepository.findByNickname("sangwon");
+        Study study = studyService.createNewStudy(newStudyForm("old-path"), account);
+
+        mockMvc.perform(post("/study/old-path/settings/study/path")
+                        .param("path", "new-path")
+                        .with(csrf()))
+                .andExpect(redirectedUrl("/study/new-path/settings/study"));
+        mockMvc.perform(post("/study/new-path/settings/study/path")
+                        .param("path", "old-path")
+                        .with(csrf()))
+                .andExpect(redirectedUrl("/study/old-path/settings/study"));
+        mockMvc.perform(post("/study/old-path/settings/study/path")
+                        .param("path", "new-path")
+                        .with(csrf()))
+                .andExpect(redirectedUrl("/study/new-path/settings/study"));
+
+        assertThat(studyRepository.findStudyOnlyByPath("new-path").getId()).isEqualTo(study.getId());
+        assertThat(studyPathAliasRepository.findPathsByStudyId(study.getId())).containsExactly("old-path");
+
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/study/path")
+                        .param("path", "old-path")
+                        .with(csrf()))
+                .andExpect(redirectedUrl("/study/" + STUDY_PATH + "/settings/study"));
+        assertTrue(studyRepository.existsByPath(STUDY_PATH));
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("상세 소개는 저장할 때 sanitize 한 html 로 보여줌")
+    @Test
+    public void studyDescriptionSanitized() throws Exception {
+        Account account = accountRepository.findByNickname("sangwon");
+        Long version = studyRepository.findStudyOnlyByPath(STUDY_PATH).getVersion();
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/description")
+                        .param("shortDescription", "tests")
+                        .param("fullDescription", "<p onclick=\"alert(1)\" style=\"color: red; background: url(x)\">소개</p>" +
+                                "<script>alert(2)</script><a href=\"jav&#x61;script:alert(3)\">링크</a></div>")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        Study study = studyService.getStudyToUpdate(account, STUDY_PATH);
+        assertThat(study.getVersion()).isGreaterThan(version);
+        assertEquals("<p style=\"color: red;\">소개</p><a>링크</a>",
+                studyService.getDescriptionHtml(study.getId(), study.getVersion()));
+        assertThat(study.getFullDescription()).contains("<script>"); // 수정 화면에는 작성한 그대로 보여줌
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("스터디 공개")
+    @Test
+    public void publishStudy() throws Exception {
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/study/publish")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/" + STUDY_PATH + "/settings/study"))
+                .andExpect(flash().attribute("message", "스터디를 공개했습니다."));
+
+        Study study = studyRepository.findStudyOnlyByPath(STUDY_PATH);
+        assertTrue(study.isPublished());
+        assertNotNull(study.getPublishedDatetime());
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("인원 모집 시작 - 공개 전에는 바뀌지 않음")
+    @Test
+    public void startRecruitBeforePublish() throws Exception {
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/recruit/start")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("message", "스터디를 공개한 뒤에 인원모집을 변경할 수 있습니다."));
+
+        assertFalse(studyRepository.findStudyOnlyByPath(STUDY_PATH).isRecruiting());
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("인원 모집 시작 - 종료한 스터디는 바뀌지 않음")
+    @Test
+    public void startRecruitAfterClose() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        studyService.publish(sangwon, STUDY_PATH);
+        studyService.close(sangwon, STUDY_PATH);
+
+        mockMvc.perform(post("/study/" + STUDY_PATH + "/settings/recruit/start")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("message", "종료한 스터디는 인원모집을 변경할 수 없습니다."));
+
+        assertFalse(studyRepository.findStudyOnlyByPath(STUDY_PATH).isRecruiting());
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("관리자가 아니면 스터디 이름 변경 불가")
+    @Test
+    public void changeTitleWithoutManager() throws Exception {
+        Account other = accountRepository.save(newAccount("other"));
+        studyService.createNewStudy(newStudyForm("other-study"), other);
+
+        mockMvc.perform(post("/study/other-study/settings/study/title")
+                        .param("newTitle", "changed")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        assertEquals("other", studyRepository.findStudyOnlyByPath("other-study").getTitle());
+    }
+}
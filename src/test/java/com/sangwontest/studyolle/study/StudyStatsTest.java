@@ -0,0 +1,114 @@
+package com.sangwontest.studyolle.study;
+
+import com.sangwontest.studyolle.WithAccount;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.event.Enrollment;
+import com.sangwontest.studyolle.modules.event.EnrollmentRepository;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventStatService;
+import com.sangwontest.studyolle.modules.event.EventStatView;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyActivityCounter;
+import com.sangwontest.studyolle.modules.study.StudyActivityType;
+import com.sangwontest.studyolle.modules.study.StudyDailyStat;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.study.StudyStatService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class StudyStatsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyStatService studyStatService;
+    @Autowired
+    StudyActivityCounter studyActivityCounter;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventStatService eventStatService;
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+    @Autowired
+    AccountRepository accountRepository;
+
+    @DisplayName("가입, 탈퇴는 메모리에서 세다가 하루 한 행에 더함")
+    @Test
+    void dailyStats() {
+        Account manager = accountRepository.save(newAccount("stats"));
+        Study study = studyService.createNewStudy(newStudyForm("stats"), manager);
+        LocalDate today = LocalDate.now();
+
+        studyActivityCounter.count(study.getId(), today, StudyActivityType.JOIN);
+        studyActivityCounter.count(study.getId(), today, StudyActivityType.JOIN);
+        studyActivityCounter.count(study.getId(), today, StudyActivityType.LEAVE);
+        studyActivityCounter.flush();
+        studyActivityCounter.count(study.getId(), today, StudyActivityType.JOIN);
+        studyActivityCounter.count(study.getId(), today, StudyActivityType.ENROLLMENT);
+        studyActivityCounter.count(study.getId(), today.minusDays(1), StudyActivityType.JOIN);
+        studyActivityCounter.flush();
+
+        List<StudyDailyStat> stats = studyStatService.getDailyStats(study.getId(), today);
+        assertThat(stats).extracting(StudyDailyStat::getStatDate).containsExactly(today, today.minusDays(1));
+        assertThat(stats.get(0).getJoins()).isEqualTo(3);
+        assertThat(stats.get(0).getLeaves()).isEqualTo(1);
+        assertThat(stats.get(0).getEnrollments()).isEqualTo(1);
+    }
+
+    @WithAccount("sangwon")
+    @DisplayName("통계 화면은 밤에 집계한 모임 통계를 보여줌")
+    @Test
+    @SuppressWarnings("unchecked")
+    void statsPage() throws Exception {
+        Account sangwon = accountRepository.findByNickname("sangwon");
+        Study study = studyService.createNewStudy(newStudyForm("stats-page"), sangwon);
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        Event event = eventService.createEvent(newEventForm(EventType.FCFS, 10, start, start.plusDays(1)), study, sangwon);
+        for (int i = 0; i < 4; i++) {
+            Account member = accountRepository.save(newAccount("member" + i));
+            enrollmentRepository.save(Enrollment.builder().event(event).account(member).enrolledAt(LocalDateTime.now())
+                    .accepted(i < 3).attended(i < 2).build());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(eventStatService.aggregate(now.minusDays(7), 0L, 100, now)).isNull();
+
+        MvcResult result = mockMvc.perform(get("/study/stats-page/settings/stats"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/settings/stats"))
+                .andReturn();
+        List<EventStatView> eventStats = (List<EventStatView>) result.getModelAndView().getModel().get("eventStats");
+        assertThat(eventStats).hasSize(1);
+        assertThat(eventStats.get(0).getEnrollments()).isEqualTo(4);
+        assertThat(eventStats.get(0).getAccepted()).isEqualTo(3);
+        assertThat(eventStats.get(0).getAttended()).isEqualTo(2);
+        assertThat(eventStats.get(0).getAttendanceRate()).isEqualTo(67);
+    }
+}
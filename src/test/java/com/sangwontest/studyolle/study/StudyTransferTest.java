@@ -0,0 +1,167 @@
+package com.sangwontest.studyolle.study;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sangwontest.studyolle.WithAccount;
+import com.sangwontest.studyolle.modules.account.Account;
+import com.sangwontest.studyolle.modules.account.AccountRepository;
+import com.sangwontest.studyolle.modules.account.Tags;
+import com.sangwontest.studyolle.modules.account.repository.TagsRepository;
+import com.sangwontest.studyolle.modules.event.Event;
+import com.sangwontest.studyolle.modules.event.EventRepository;
+import com.sangwontest.studyolle.modules.event.EventService;
+import com.sangwontest.studyolle.modules.event.EventType;
+import com.sangwontest.studyolle.modules.event.transfer.StudyExporter;
+import com.sangwontest.studyolle.modules.event.transfer.StudyImportResult;
+import com.sangwontest.studyolle.modules.event.transfer.StudyImporter;
+import com.sangwontest.studyolle.modules.event.transfer.StudyRecord;
+import com.sangwontest.studyolle.modules.study.Study;
+import com.sangwontest.studyolle.modules.study.StudyRepository;
+import com.sangwontest.studyolle.modules.study.StudyService;
+import com.sangwontest.studyolle.modules.zone.ZoneRepository;
+import com.sangwontest.studyolle.modules.zone.Zones;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.sangwontest.studyolle.TestFixtures.newAccount;
+import static com.sangwontest.studyolle.TestFixtures.newEventForm;
+import static com.sangwontest.studyolle.TestFixtures.newStudyForm;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class StudyTransferTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    StudyExporter studyExporter;
+    @Autowired
+    StudyImporter studyImporter;
+    @Autowired
+    StudyService studyService;
+    @Autowired
+    StudyRepository studyRepository;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventRepository eventRepository;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    TagsRepository tagsRepository;
+    @Autowired
+    ZoneRepository zoneRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    EntityManager entityManager;
+
+    @DisplayName("내보낸 NDJSON 을 다시 가져오면 태그, 지역, 구성원, 모임이 같은 스터디가 만들어짐")
+    @Test
+    void exportAndImport() throws Exception {
+        Account manager = accountRepository.save(newAccount("transfer"));
+        Account member = accountRepository.save(newAccount("transfer-member"));
+        Tags spring = tagsRepository.save(Tags.builder().title("transfer-spring").build());
+        Zones zone = zoneRepository.findByCityAndProvince("Andong", "North Gyeongsang");
+
+        Study study = studyService.createNewStudy(newStudyForm("transfer"), manager);
+        studyService.addTag(study, spring);
+        studyService.addZone(study, zone);
+        study.addMember(member);
+        eventService.createEvent(newEventForm(EventType.FCFS, 2), study, manager);
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = studyExporter.export(out);
+        StudyRecord record = new String(out.toByteArray(), StandardCharsets.UTF_8).lines()
+                .map(this::read)
+                .filter(line -> line.getPath().equals("transfer"))
+                .findFirst().orElseThrow();
+        assertThat(exported).isGreaterThanOrEqualTo(1);
+        assertThat(record.getManagers()).containsExactly("transfer@naver.com");
+        assertThat(record.getMembers()).containsExactly("transfer-member@naver.com");
+        assertThat(record.getTags()).containsExactly("transfer-spring");
+        assertThat(record.getZones()).extracting("city").containsExactly("Andong");
+        assertThat(record.getEvents()).extracting("title").containsExactly("모임");
+
+        StudyRecord copy = read(objectMapper.writeValueAsString(record));
+        copy.setPath("transfer-copy");
+        copy.getTags().add("transfer-new");
+        copy.getMembers().add("nobody@naver.com");
+        StudyRecord noManager = read(objectMapper.writeValueAsString(record));
+        noManager.setPath("transfer-no-manager");
+        noManager.setManagers(List.of("nobody@naver.com"));
+        String ndjson = String.join("\n",
+                objectMapper.writeValueAsString(record), // 이미 있는 경로
+                objectMapper.writeValueAsString(copy),
+                "",
+                objectMapper.writeValueAsString(noManager));
+
+        StudyImportResult result = studyImporter.importStudies(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        assertThat(result.getUnknownAccounts()).isEqualTo(2);
+        Study imported = studyRepository.findStudyOnlyByPath("transfer-copy");
+        assertThat(imported.getTitle()).isEqualTo("transfer");
+        assertThat(imported.getFullDescription()).isEqualTo("transfer");
+        assertThat(imported.getTags()).extracting(Tags::getTitle).containsExactlyInAnyOrder("transfer-spring", "transfer-new");
+        assertThat(imported.getZones()).containsExactly(zone);
+        assertThat(imported.getMembers()).extracting(Account::getEmail).containsExactly("transfer-member@naver.com");
+        assertThat(imported.getMemberCount()).isEqualTo(1);
+        assertThat(imported.getEventCount()).isEqualTo(1);
+        List<Event> events = eventRepository.findByStudyIdOrderByStartDateTime(imported.getId());
+        assertThat(events).extracting(Event::getTitle).containsExactly("모임");
+        assertThat(events.get(0).getCreatedBy().getEmail()).isEqualTo("transfer@naver.com");
+        assertThat(studyRepository.existsByPath("transfer-no-manager")).isFalse();
+    }
+
+    @DisplayName("관리자는 NDJSON 으로 내려받음")
+    @WithMockUser(roles = "ADMIN")
+    @Test
+    void exportByAdmin() throws Exception {
+        // 응답은 다른 스레드에서 쓰므로 이 테스트 트랜잭션의 데이터는 보이지 않음 (내용은 exportAndImport 에서 확인)
+        MvcResult result = mockMvc.perform(get("/admin/studies/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+    }
+
+    @DisplayName("관리자가 아니면 내보내기를 할 수 없음")
+    @WithAccount("sangwon")
+    @Test
+    void exportForbidden() throws Exception {
+        mockMvc.perform(get("/admin/studies/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    private StudyRecord read(String line) {
+        try {
+            return objectMapper.readValue(line, StudyRecord.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}